@@ -96,6 +96,8 @@ suite = {
       "sourceDirs" : ["src"],
       "dependencies" : [
         "com.oracle.truffle.api",
+        "com.oracle.truffle.api.interop.java",
+        "com.oracle.truffle.object.basic",
         "mx:JMH",
       ],
       "imports" : ["jdk.internal.loader"],
@@ -186,10 +188,11 @@ suite = {
         "com.oracle.truffle.tools",
         "com.oracle.truffle.api.debug",
         "com.oracle.truffle.api.dsl.test",
-        "mx:JUNIT"
+        "mx:JUNIT",
+        "mx:JMH",
       ],
       "checkstyle" : "com.oracle.truffle.api",
-      "annotationProcessors" : ["TRUFFLE_DSL_PROCESSOR"],
+      "annotationProcessors" : ["TRUFFLE_DSL_PROCESSOR", "mx:JMH"],
       "javaCompliance" : "1.7",
       "workingSets" : "API,Truffle",
     },
@@ -413,6 +416,7 @@ suite = {
       "dependencies" : [
         "com.oracle.truffle.tck",
         "com.oracle.truffle.sl",
+        "com.oracle.truffle.tools",
         "mx:JMH",
       ],
       "checkstyle" : "com.oracle.truffle.sl",
@@ -517,7 +521,8 @@ suite = {
           "TRUFFLE_API",
           "TRUFFLE_TCK",
           "TRUFFLE_DSL_PROCESSOR",
-          "TRUFFLE_SL"
+          "TRUFFLE_SL",
+          "TRUFFLE_DEBUG"
       ],
       "license" : "UPL",
       "maven" : False
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Measures the overhead of entering and leaving call targets. The {@link EagerFrameStack} variant
+ * runs the same benchmarks with the default runtime configured to allocate immutable frame
+ * instances for every call.
+ */
+@State(Scope.Thread)
+public class CallTargetBenchmark extends TruffleBenchmark {
+
+    private static final int CALLS = 100;
+
+    private final CallTarget leaf = Truffle.getRuntime().createCallTarget(new LeafRootNode());
+    private final CallTarget caller = Truffle.getRuntime().createCallTarget(new CallerRootNode(leaf));
+    private final CallTarget recursive = Truffle.getRuntime().createCallTarget(new RecursiveRootNode());
+    private final Object[] noArguments = new Object[0];
+    private final Object[] depthArguments = new Object[]{CALLS};
+
+    @Benchmark
+    public Object callTarget() {
+        return leaf.call(noArguments);
+    }
+
+    @Benchmark
+    public Object directCalls() {
+        return caller.call(noArguments);
+    }
+
+    @Benchmark
+    public Object recursiveCalls() {
+        return recursive.call(depthArguments);
+    }
+
+    @Fork(value = Defaults.FORKS, jvmArgsAppend = "-Dtruffle.LazyFrameStack=false")
+    public static class EagerFrameStack extends CallTargetBenchmark {
+    }
+
+    private static class LeafRootNode extends RootNode {
+
+        LeafRootNode() {
+            super(BenchmarkLanguage.class, null, null);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            return frame.getArguments().length;
+        }
+    }
+
+    private static class CallerRootNode extends RootNode {
+
+        @Children private final DirectCallNode[] calls;
+
+        CallerRootNode(CallTarget target) {
+            super(BenchmarkLanguage.class, null, null);
+            this.calls = new DirectCallNode[CALLS];
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = Truffle.getRuntime().createDirectCallNode(target);
+            }
+        }
+
+        @Override
+        @ExplodeLoop
+        public Object execute(VirtualFrame frame) {
+            int sum = 0;
+            Object[] arguments = frame.getArguments();
+            for (int i = 0; i < calls.length; i++) {
+                sum += (int) calls[i].call(frame, arguments);
+            }
+            return sum;
+        }
+    }
+
+    private static class RecursiveRootNode extends RootNode {
+
+        @Child private DirectCallNode self;
+
+        RecursiveRootNode() {
+            super(BenchmarkLanguage.class, null, null);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            int depth = (int) frame.getArguments()[0];
+            if (depth == 0) {
+                return 0;
+            }
+            if (self == null) {
+                self = insert(Truffle.getRuntime().createDirectCallNode(getCallTarget()));
+            }
+            return 1 + (int) self.call(frame, new Object[]{depth - 1});
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Layout;
+import com.oracle.truffle.api.object.ObjectType;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Inserts and looks up many distinct keys on a single object, like guest languages do when objects
+ * are used as hash maps.
+ */
+@State(Scope.Thread)
+public class DictionaryObjectBenchmark extends TruffleBenchmark {
+
+    private static final int KEY_COUNT = 10000;
+
+    @Param({"false", "true"}) boolean dictionaryMode;
+
+    private Layout layout;
+    private Shape rootShape;
+    private String[] keys;
+    private DynamicObject object;
+
+    @Setup
+    public void setup() {
+        layout = Layout.newLayout().setDictionaryMode(dictionaryMode).build();
+        rootShape = layout.createShape(new ObjectType());
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "key" + i;
+        }
+        object = insert();
+    }
+
+    @Benchmark
+    public DynamicObject insert() {
+        DynamicObject newObject = layout.newInstance(rootShape);
+        for (int i = 0; i < keys.length; i++) {
+            newObject.define(keys[i], i);
+        }
+        return newObject;
+    }
+
+    @Benchmark
+    public int lookup() {
+        int sum = 0;
+        for (String key : keys) {
+            sum += (int) object.get(key);
+        }
+        return sum;
+    }
+
+}
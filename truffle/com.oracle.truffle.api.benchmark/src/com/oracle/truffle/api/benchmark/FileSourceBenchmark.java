@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Loads a large generated file and reads its line count, one of its lines and a section of it,
+ * the way a debugger does when it shows the location of a breakpoint. The file is read either
+ * through a {@link java.io.Reader}, which decodes all of it into a string, or as a file source,
+ * which decodes only the requested lines.
+ */
+@State(Scope.Thread)
+public class FileSourceBenchmark extends TruffleBenchmark {
+
+    private static final int LINES = 2000000;
+    private static final String LINE = "    local = call(argument, 42) + other; // über\n";
+
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("FileSourceBenchmark", ".txt");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write(LINE);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public int readerSource() throws IOException {
+        return readLines(Source.newBuilder(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)).name("generated").mimeType("content/unknown").build());
+    }
+
+    @Benchmark
+    public int fileSource() throws IOException {
+        return readLines(Source.newBuilder(file).mimeType("content/unknown").build());
+    }
+
+    @Benchmark
+    public int fileSourceCode() throws IOException {
+        return Source.newBuilder(file).mimeType("content/unknown").build().getCode().length();
+    }
+
+    private static int readLines(Source source) {
+        int lines = source.getLineCount();
+        int middle = source.getLineStartOffset(lines / 2);
+        return lines + source.getCode(lines).length() + source.createSection("statement", middle + 4, LINE.length() - 5).getCode().length();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.FrameSlotTypeException;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Measures calls of tiny recursive functions. The frame descriptors of the functions declare
+ * local variables, but the functions either do not touch them on the common path or use only
+ * primitive values.
+ */
+@State(Scope.Thread)
+public class FrameAllocationBenchmark extends TruffleBenchmark {
+
+    private static final int LOCALS = 8;
+
+    private final CallTarget fibArguments = Truffle.getRuntime().createCallTarget(new FibRootNode(false));
+    private final CallTarget fibLocal = Truffle.getRuntime().createCallTarget(new FibRootNode(true));
+    private final Object[] arguments = new Object[]{15};
+
+    @Benchmark
+    public Object fibOnlyArguments() {
+        return fibArguments.call(arguments);
+    }
+
+    @Benchmark
+    public Object fibPrimitiveLocal() {
+        return fibLocal.call(arguments);
+    }
+
+    private static class FibRootNode extends RootNode {
+
+        private final FrameSlot n;
+        private final boolean useLocal;
+        @Child private DirectCallNode first;
+        @Child private DirectCallNode second;
+
+        FibRootNode(boolean useLocal) {
+            super(BenchmarkLanguage.class, null, new FrameDescriptor());
+            this.useLocal = useLocal;
+            FrameDescriptor descriptor = getFrameDescriptor();
+            this.n = descriptor.addFrameSlot("n", FrameSlotKind.Int);
+            for (int i = 1; i < LOCALS; i++) {
+                descriptor.addFrameSlot("local" + i, FrameSlotKind.Illegal);
+            }
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            int value = (int) frame.getArguments()[0];
+            if (useLocal) {
+                frame.setInt(n, value);
+            }
+            if (value < 2) {
+                return value;
+            }
+            if (first == null) {
+                first = insert(Truffle.getRuntime().createDirectCallNode(getCallTarget()));
+                second = insert(Truffle.getRuntime().createDirectCallNode(getCallTarget()));
+            }
+            if (useLocal) {
+                value = getInt(frame);
+            }
+            return (int) first.call(frame, new Object[]{value - 1}) + (int) second.call(frame, new Object[]{value - 2});
+        }
+
+        private int getInt(VirtualFrame frame) {
+            try {
+                return frame.getInt(n);
+            } catch (FrameSlotTypeException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
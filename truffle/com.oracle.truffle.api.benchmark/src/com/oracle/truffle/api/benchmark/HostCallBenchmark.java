@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.java.JavaInterop;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Calls methods and reads fields of a Java object from a guest AST in a loop, the way a language
+ * accesses host objects exported via {@link JavaInterop#asTruffleObject(Object)}.
+ */
+@State(Scope.Thread)
+public class HostCallBenchmark extends TruffleBenchmark {
+
+    private static final int CALLS = 1000;
+
+    public static final class Counter {
+        public int step = 1;
+        private long value;
+
+        public long add(int delta) {
+            value += delta;
+            return value;
+        }
+
+        public long get() {
+            return value;
+        }
+    }
+
+    private final TruffleObject counter = JavaInterop.asTruffleObject(new Counter());
+    private final CallTarget invokeLoop = Truffle.getRuntime().createCallTarget(new InvokeLoopNode(counter));
+    private final CallTarget readLoop = Truffle.getRuntime().createCallTarget(new ReadLoopNode(counter));
+
+    @Benchmark
+    public Object invokeMethod() {
+        return invokeLoop.call();
+    }
+
+    @Benchmark
+    public Object readField() {
+        return readLoop.call();
+    }
+
+    private static class InvokeLoopNode extends RootNode {
+
+        private final TruffleObject receiver;
+        @Child private Node invoke = Message.createInvoke(1).createNode();
+
+        InvokeLoopNode(TruffleObject receiver) {
+            super(BenchmarkLanguage.class, null, null);
+            this.receiver = receiver;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object result = null;
+            try {
+                for (int i = 0; i < CALLS; i++) {
+                    result = ForeignAccess.sendInvoke(invoke, frame, receiver, "add", i);
+                }
+            } catch (InteropException e) {
+                throw new AssertionError(e);
+            }
+            return result;
+        }
+    }
+
+    private static class ReadLoopNode extends RootNode {
+
+        private final TruffleObject receiver;
+        @Child private Node read = Message.READ.createNode();
+
+        ReadLoopNode(TruffleObject receiver) {
+            super(BenchmarkLanguage.class, null, null);
+            this.receiver = receiver;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            int sum = 0;
+            try {
+                for (int i = 0; i < CALLS; i++) {
+                    sum += (Integer) ForeignAccess.sendRead(read, frame, receiver, "step");
+                }
+            } catch (InteropException e) {
+                throw new AssertionError(e);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.java.JavaInterop;
+
+/**
+ * Accesses a foreign array and object from Java through the interfaces created by
+ * {@link JavaInterop#asJavaObject(Class, TruffleObject)}. Every access sends interop messages.
+ */
+@State(Scope.Thread)
+public class JavaInteropBenchmark extends TruffleBenchmark {
+
+    private static final int SIZE = 10000;
+
+    public interface Point {
+        int x();
+
+        int y();
+    }
+
+    public static final class PointImpl {
+        public int x = 3;
+        public int y = 4;
+    }
+
+    private List<?> list;
+    private Point point;
+
+    @Setup
+    public void setup() {
+        Object[] array = new Object[SIZE];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        list = JavaInterop.asJavaObject(List.class, JavaInterop.asTruffleObject(array));
+        point = JavaInterop.asJavaObject(Point.class, JavaInterop.asTruffleObject(new PointImpl()));
+    }
+
+    @Benchmark
+    public long iterateList() {
+        long sum = 0;
+        for (Object element : list) {
+            sum += ((Number) element).longValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long indexList() {
+        long sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += ((Number) list.get(i)).longValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int readProxy() {
+        return point.x() + point.y();
+    }
+
+}
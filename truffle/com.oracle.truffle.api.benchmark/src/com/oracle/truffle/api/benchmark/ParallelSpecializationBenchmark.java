@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * Builds and specializes ASTs that are not adopted by a root node yet, as a parser that creates
+ * and warms up functions on several threads does. The throughput of the parallel benchmark should
+ * scale with the number of cores as long as the trees do not share a lock.
+ */
+@State(Scope.Thread)
+public class ParallelSpecializationBenchmark extends TruffleBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public Object parseAndWarmup() {
+        return createAndSpecialize(100);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object parseAndWarmupParallel() {
+        return createAndSpecialize(100);
+    }
+
+    private static Node createAndSpecialize(int size) {
+        Expression[] expressions = new Expression[size];
+        for (int i = 0; i < expressions.length; i++) {
+            expressions[i] = new Uninitialized();
+        }
+        Block block = new Block(expressions);
+        block.adoptChildren();
+        for (Expression expression : expressions) {
+            ((Uninitialized) expression).specialize();
+        }
+        return block;
+    }
+
+    private static class Block extends Node {
+
+        @Children final Expression[] children;
+
+        Block(Expression[] children) {
+            this.children = children;
+        }
+
+    }
+
+    private static class Expression extends Node {
+
+    }
+
+    private static class Uninitialized extends Expression {
+
+        void specialize() {
+            replace(new Specialized(), "specialized");
+        }
+
+    }
+
+    private static class Specialized extends Expression {
+
+    }
+
+}
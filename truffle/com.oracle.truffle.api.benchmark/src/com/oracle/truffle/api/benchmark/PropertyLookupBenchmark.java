@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Layout;
+import com.oracle.truffle.api.object.ObjectType;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Looks up properties by key in shapes of different sizes, like the uncached (megamorphic) property
+ * access paths of guest languages do.
+ */
+@State(Scope.Thread)
+public class PropertyLookupBenchmark extends TruffleBenchmark {
+
+    @Param({"10", "100", "1000"}) int propertyCount;
+
+    private final Layout layout = Layout.createLayout();
+    private Shape rootShape;
+    private Shape shape;
+    private DynamicObject object;
+    private String[] keys;
+    private String[] missingKeys;
+
+    @Setup
+    public void setup() {
+        rootShape = layout.createShape(new ObjectType());
+        keys = new String[propertyCount];
+        missingKeys = new String[propertyCount];
+        object = layout.newInstance(rootShape);
+        for (int i = 0; i < propertyCount; i++) {
+            keys[i] = "property" + i;
+            missingKeys[i] = "missing" + i;
+            object.define(keys[i], i);
+        }
+        shape = object.getShape();
+    }
+
+    @Benchmark
+    public int lookupAll() {
+        int found = 0;
+        for (String key : keys) {
+            if (shape.getProperty(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int lookupMissing() {
+        int found = 0;
+        for (String key : missingKeys) {
+            if (shape.getProperty(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int readAll() {
+        int sum = 0;
+        for (String key : keys) {
+            sum += (int) object.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object defineAll() {
+        DynamicObject newObject = layout.newInstance(rootShape);
+        for (int i = 0; i < keys.length; i++) {
+            newObject.define(keys[i], i);
+        }
+        return newObject;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.oracle.truffle.api.object.Layout;
+import com.oracle.truffle.api.object.ObjectType;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.object.ShapeImpl;
+import com.oracle.truffle.object.Transition;
+
+/**
+ * Looks up cached transitions of a shape with different numbers of successor shapes.
+ */
+@State(Scope.Thread)
+public class ShapeTransitionBenchmark extends TruffleBenchmark {
+
+    @Param({"1", "4", "64"}) int transitionCount;
+
+    private final Layout layout = Layout.createLayout();
+    private ShapeImpl rootShape;
+    private List<Shape> shapes;
+    private Transition[] transitions;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        rootShape = (ShapeImpl) layout.createShape(new ObjectType());
+        shapes = new ArrayList<>();
+        transitions = new Transition[transitionCount];
+        keys = new String[transitionCount];
+        for (int i = 0; i < transitionCount; i++) {
+            keys[i] = "property" + i;
+            ShapeImpl shape = rootShape.defineProperty(keys[i], i, 0);
+            shapes.add(shape);
+            transitions[i] = shape.getTransitionFromParent();
+        }
+    }
+
+    @Benchmark
+    public int queryTransition() {
+        int found = 0;
+        for (Transition transition : transitions) {
+            if (rootShape.queryTransition(transition) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Shape defineCached() {
+        Shape shape = null;
+        for (int i = 0; i < keys.length; i++) {
+            shape = rootShape.defineProperty(keys[i], i, 0);
+        }
+        return shape;
+    }
+
+    /**
+     * Keeps adding transitions to a long-lived root shape without keeping the new shapes. Prints
+     * the retained transitions and heap after each iteration; both should stay flat.
+     */
+    @State(Scope.Thread)
+    public static class Churn {
+        private final Layout layout = Layout.createLayout();
+        private final ShapeImpl rootShape = (ShapeImpl) layout.createShape(new ObjectType());
+        private int counter;
+
+        @TearDown(Level.Iteration)
+        public void printRetained() {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            Runtime runtime = Runtime.getRuntime();
+            long used = runtime.totalMemory() - runtime.freeMemory();
+            System.out.println("retained transitions: " + rootShape.getTransitionMapForRead().size() + ", used heap: " + (used / 1024) + " KB");
+        }
+    }
+
+    @Benchmark
+    public Shape defineUnreachable(Churn churn) {
+        int i = churn.counter++;
+        return churn.rootShape.defineProperty("key" + i, i, 0);
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Resolves the source sections of all nodes of a large generated source, the way instrumentation
+ * filters and the debugger do when they inspect every loaded node.
+ */
+@State(Scope.Thread)
+public class SourceSectionBenchmark extends TruffleBenchmark {
+
+    private static final int LINES = 100000;
+    private static final String LINE = "    local = call(argument, 42) + other;\n";
+
+    private String code;
+    private Source source;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder(LINES * LINE.length());
+        for (int i = 0; i < LINES; i++) {
+            sb.append(LINE);
+        }
+        code = sb.toString();
+        source = createSource();
+        source.getLineCount();
+    }
+
+    private Source createSource() {
+        return Source.newBuilder(code).name("generated").mimeType("content/unknown").build();
+    }
+
+    @Benchmark
+    public Object loadSource() {
+        Source s = createSource();
+        s.getLineCount();
+        return s;
+    }
+
+    @Benchmark
+    public int resolveSections() {
+        return resolveAll(source);
+    }
+
+    @Benchmark
+    public int loadAndResolveSections() {
+        return resolveAll(createSource());
+    }
+
+    /*
+     * Creates a statement section for every line and two expression sections inside of it, then
+     * asks each section for its coordinates.
+     */
+    private static int resolveAll(Source s) {
+        int sum = 0;
+        final int length = LINE.length();
+        for (int i = 0; i < LINES; i++) {
+            int lineStart = i * length;
+            sum += resolve(s.createSection("statement", lineStart + 4, length - 5));
+            sum += resolve(s.createSection("call", lineStart + 12, 17));
+            sum += resolve(s.createSection("literal", lineStart + 27, 2));
+        }
+        return sum;
+    }
+
+    private static int resolve(SourceSection section) {
+        return section.getStartLine() + section.getStartColumn() + section.getEndLine() + section.getEndColumn();
+    }
+
+}
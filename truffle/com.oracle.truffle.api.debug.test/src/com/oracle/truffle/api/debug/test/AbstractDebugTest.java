@@ -250,6 +250,19 @@ public abstract class AbstractDebugTest {
             return this;
         }
 
+        /** Assert that no recent warning contains the given text. */
+        SuspendedEventResponder checkNoWarning(final String text) {
+            assert !isComplete : "responder has been completed";
+            workList.add(new Runnable() {
+                public void run() {
+                    for (String warning : context.suspendedEvent.getRecentWarnings()) {
+                        Assert.assertFalse(warning, warning.contains(text));
+                    }
+                }
+            });
+            return this;
+        }
+
         /** Perform a task while responding to a {@link SuspendedEvent}. */
         SuspendedEventResponder run(Runnable work) {
             assert !isComplete : "responder has been completed";
@@ -35,6 +35,7 @@ import org.junit.Test;
 
 import com.oracle.truffle.api.debug.Breakpoint;
 import com.oracle.truffle.api.debug.Debugger;
+import com.oracle.truffle.api.instrumentation.InstrumentationTestLanguage;
 import com.oracle.truffle.api.source.Source;
 import java.io.File;
 
@@ -152,6 +153,32 @@ public class BreakpointTest extends AbstractDebugTest {
         assertEquals(breakpoints[8].getHitCount(), 0);
     }
 
+    @Test
+    public void testConditionOnLineWithTwoStatements() throws Throwable {
+        final Source block = Source.newBuilder("ROOT(\n" +
+                        "  STATEMENT, STATEMENT,\n" +
+                        "  STATEMENT\n" +
+                        ")\n").name("testConditionOnLineWithTwoStatements" + InstrumentationTestLanguage.FILENAME_EXTENSION).mimeType(InstrumentationTestLanguage.MIME_TYPE).build();
+        final Breakpoint breakpoint = getDebugger().setLineBreakpoint(1, block.createLineLocation(2), false);
+        /*
+         * The test language has no boolean values, so the condition fails and the breakpoint is
+         * taken as if unconditional. Executing the DEFINE of a second parse of the condition would
+         * fail with a redefinition of "cond".
+         */
+        breakpoint.setCondition("DEFINE(cond, STATEMENT)");
+        expectExecutionEvent().resume();
+        expectSuspendedEvent().checkState(2, true, "STATEMENT").checkNoWarning("redefinition").run(new Runnable() {
+            public void run() {
+                assertEquals(2, breakpoint.getHitCount());
+            }
+        }).resume();
+        getEngine().eval(block);
+        assertExecutedOK();
+        assertEquals(2, breakpoint.getHitCount());
+        assertEquals(1, breakpoint.getIgnoreCount());
+        breakpoint.dispose();
+    }
+
     @Test
     public void testURIBreak() throws Throwable {
         File loopFile = TestSource.createCallLoop3File();
@@ -63,6 +63,7 @@ import com.oracle.truffle.api.instrumentation.SourceSectionFilter.IndexRange;
 import com.oracle.truffle.api.nodes.DirectCallNode;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.LineLocation;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.utilities.CyclicAssumption;
@@ -70,8 +71,10 @@ import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Creator and manager of program breakpoints.
@@ -101,6 +104,15 @@ final class BreakpointFactory {
     private final Map<Object, BreakpointImpl> breakpointsInternal = new HashMap<>();
     private final Map<URI, Set<URILocation>> uriLocations = new HashMap<>();
     private final Map<URI, Reference<Source>> sources = new HashMap<>();
+    /**
+     * Map: (language, condition code, root of the instrumented node) ==> parsed condition; shared by
+     * all nodes of one root a conditional breakpoint gets attached to, and by breakpoints with the
+     * same condition. An entry is removed when the last breakpoint using it is disposed or changes
+     * its condition, or once its root has been garbage collected.
+     */
+    private final Map<ConditionKey, ConditionEntry> conditions = new HashMap<>();
+
+    private static final AtomicIntegerFieldUpdater<BreakpointImpl> HIT_COUNT_UPDATER = AtomicIntegerFieldUpdater.newUpdater(BreakpointImpl.class, "hitCount");
 
     private static final Comparator<Entry<Object, BreakpointImpl>> BREAKPOINT_COMPARATOR = new Comparator<Entry<Object, BreakpointImpl>>() {
 
@@ -334,6 +346,69 @@ final class BreakpointFactory {
         return breakpoint;
     }
 
+    @SuppressWarnings("rawtypes")
+    private CallTarget parseCondition(BreakpointImpl breakpoint, Class<? extends TruffleLanguage> languageClass, Source conditionSource, Node context) throws IOException {
+        final ConditionKey key = new ConditionKey(languageClass, conditionSource.getCode(), context.getRootNode());
+        synchronized (conditions) {
+            final ConditionEntry entry = conditions.get(key);
+            if (entry != null) {
+                return useCondition(breakpoint, key, entry);
+            }
+        }
+        final CallTarget callTarget = Debugger.ACCESSOR.parse(languageClass, conditionSource, context, new String[0]);
+        synchronized (conditions) {
+            ConditionEntry entry = conditions.get(key);
+            if (entry == null) {
+                expungeCollectedConditions();
+                entry = new ConditionEntry(callTarget);
+                conditions.put(key, entry);
+                if (TRACE) {
+                    trace("PARSED condition \"%s\"", key.code);
+                }
+            }
+            return useCondition(breakpoint, key, entry);
+        }
+    }
+
+    private static CallTarget useCondition(BreakpointImpl breakpoint, ConditionKey key, ConditionEntry entry) {
+        for (Iterator<ConditionKey> it = breakpoint.conditionKeys.iterator(); it.hasNext();) {
+            if (it.next().isCollected()) {
+                it.remove();
+            }
+        }
+        if (breakpoint.conditionKeys.add(key)) {
+            entry.users++;
+        }
+        return entry.callTarget;
+    }
+
+    /**
+     * Releases the parsed conditions used by a breakpoint, removing those no other breakpoint uses.
+     */
+    private void releaseConditions(BreakpointImpl breakpoint) {
+        synchronized (conditions) {
+            for (ConditionKey key : breakpoint.conditionKeys) {
+                final ConditionEntry entry = conditions.get(key);
+                if (entry != null && --entry.users == 0) {
+                    conditions.remove(key);
+                }
+            }
+            breakpoint.conditionKeys.clear();
+        }
+    }
+
+    /**
+     * Removes the parsed conditions of roots that have been garbage collected. Guarded by
+     * conditions.
+     */
+    private void expungeCollectedConditions() {
+        for (Iterator<ConditionKey> it = conditions.keySet().iterator(); it.hasNext();) {
+            if (it.next().isCollected()) {
+                it.remove();
+            }
+        }
+    }
+
     void notifySourceLoaded(Source source) {
         if (source == null) {
             return;
@@ -361,8 +436,9 @@ final class BreakpointFactory {
         private final Object locationKey;
         private SourceSectionFilter locationQuery;
         private final boolean isOneShot;
-        private int ignoreCount;
-        private int hitCount = 0;
+        private volatile int ignoreCount;
+        /* Not private, updated through HIT_COUNT_UPDATER. */
+        volatile int hitCount;
         private State state = ENABLED_UNRESOLVED;
         @SuppressWarnings("rawtypes") private EventBinding binding;
 
@@ -376,6 +452,8 @@ final class BreakpointFactory {
         private String conditionExpr;
         private Source conditionSource;
         @SuppressWarnings("rawtypes") private Class<? extends TruffleLanguage> condLangClass;
+        /* Keys of the parsed conditions this breakpoint uses, guarded by conditions. */
+        private final Set<ConditionKey> conditionKeys = new HashSet<>();
 
         private BreakpointImpl(Object key, SourceSectionFilter query, int ignoreCount, boolean isOneShot) {
             super();
@@ -447,6 +525,7 @@ final class BreakpointFactory {
             assert getState() != DISPOSED : "disposed breakpoints are unusable";
             if (binding != null) {
                 binding.dispose();
+                releaseConditions(this);
                 if (expr == null) {
                     conditionSource = null;
                     binding = instrumenter.attachListener(locationQuery, new BreakpointListener(this));
@@ -489,6 +568,7 @@ final class BreakpointFactory {
         public void dispose() {
             if (getState() != DISPOSED) {
                 binding.dispose();
+                releaseConditions(this);
                 changeState(DISPOSED);
                 isEnabled = false;
                 BreakpointFactory.this.forget(this);
@@ -508,7 +588,7 @@ final class BreakpointFactory {
                 }
             }
             try {
-                final CallTarget callTarget = Debugger.ACCESSOR.parse(condLangClass, conditionSource, instrumentedNode, new String[0]);
+                final CallTarget callTarget = parseCondition(this, condLangClass, conditionSource, instrumentedNode);
                 final DirectCallNode callNode = Truffle.getRuntime().createDirectCallNode(callTarget);
                 return new BreakpointConditionEventNode(context, callNode);
             } catch (IOException e) {
@@ -543,7 +623,7 @@ final class BreakpointFactory {
         }
 
         private void doBreak(EventContext context, VirtualFrame vFrame) {
-            if (++hitCount > ignoreCount) {
+            if (HIT_COUNT_UPDATER.incrementAndGet(this) > ignoreCount) {
                 breakpointCallback.haltedAt(context, vFrame.materialize(), this);
             }
         }
@@ -686,6 +766,56 @@ final class BreakpointFactory {
         }
     }
 
+    private static final class ConditionKey {
+
+        @SuppressWarnings("rawtypes") private final Class<? extends TruffleLanguage> language;
+        private final String code;
+        /* Weak, so that a long-lived breakpoint does not keep unloaded code alive. */
+        private final Reference<RootNode> root;
+        private final int hash;
+
+        @SuppressWarnings("rawtypes")
+        ConditionKey(Class<? extends TruffleLanguage> language, String code, RootNode root) {
+            this.language = language;
+            this.code = code;
+            this.root = new WeakReference<>(root);
+            this.hash = Objects.hash(language, code, System.identityHashCode(root));
+        }
+
+        boolean isCollected() {
+            return root.get() == null;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ConditionKey)) {
+                return false;
+            }
+            final ConditionKey other = (ConditionKey) obj;
+            final RootNode thisRoot = this.root.get();
+            return thisRoot != null && this.hash == other.hash && this.language == other.language && this.code.equals(other.code) && thisRoot == other.root.get();
+        }
+    }
+
+    private static final class ConditionEntry {
+
+        private final CallTarget callTarget;
+        /* Number of breakpoints using callTarget, guarded by conditions. */
+        private int users;
+
+        ConditionEntry(CallTarget callTarget) {
+            this.callTarget = callTarget;
+        }
+    }
+
     private static final class URILocation {
 
         private final URI uri;
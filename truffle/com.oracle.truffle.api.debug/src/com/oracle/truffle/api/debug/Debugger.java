@@ -1109,13 +1109,17 @@ public final class Debugger {
         }
     }
 
-    // TODO (mlvdv) wish there were fast-path access to stack depth
     /**
      * Depth of current Truffle stack, including nested executions. Includes the top/current frame,
-     * which the standard iterator does not count: {@code 0} if no executions.
+     * which the standard iterator does not count: {@code 0} if no executions. Uses the depth
+     * maintained by the runtime when available and only walks the stack otherwise.
      */
     @TruffleBoundary
     private static int computeStackDepth() {
+        final int depth = AccessorDebug.stackDepth();
+        if (depth >= 0) {
+            return depth == 0 ? 0 : depth + 1;
+        }
         final int[] count = {0};
         Truffle.getRuntime().iterateFrames(new FrameInstanceVisitor<Void>() {
             @Override
@@ -1183,6 +1187,10 @@ public final class Debugger {
             return ACCESSOR.engineSupport();
         }
 
+        static int stackDepth() {
+            return ACCESSOR.getStackDepth();
+        }
+
         @Override
         protected DebugSupport debugSupport() {
             return new DebugImpl();
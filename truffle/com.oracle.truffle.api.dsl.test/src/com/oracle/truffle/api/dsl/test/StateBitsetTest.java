@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.dsl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.ExactMath;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.ImplicitCast;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystem;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.dsl.internal.DSLOptions;
+import com.oracle.truffle.api.dsl.internal.SpecializedNode;
+import com.oracle.truffle.api.dsl.test.StateBitsetTestFactory.AddNodeGen;
+import com.oracle.truffle.api.dsl.test.StateBitsetTestFactory.ContainsNodeGen;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeCost;
+
+public class StateBitsetTest {
+
+    @TypeSystem({int.class, long.class})
+    @DSLOptions(useStateBitsets = true)
+    static class StateBitsetTypes {
+
+        @ImplicitCast
+        static long castLong(int value) {
+            return value;
+        }
+    }
+
+    @TypeSystemReference(StateBitsetTypes.class)
+    abstract static class AddNode extends Node {
+
+        abstract Object execute(Object a, Object b);
+
+        @Specialization(rewriteOn = ArithmeticException.class)
+        int doInt(int a, int b) {
+            return ExactMath.addExact(a, b);
+        }
+
+        @Specialization
+        long doLong(long a, long b) {
+            return a + b;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        String doFallback(Object a, Object b) {
+            return "fallback";
+        }
+    }
+
+    @Test
+    public void testNoSpecializationNodes() {
+        AddNode node = AddNodeGen.create();
+        assertFalse(node instanceof SpecializedNode);
+        assertEquals(NodeCost.UNINITIALIZED, node.getCost());
+        assertEquals(3, node.execute(1, 2));
+        assertEquals(NodeCost.MONOMORPHIC, node.getCost());
+    }
+
+    @Test
+    public void testRewriteOn() {
+        AddNode node = AddNodeGen.create();
+        assertEquals(3, node.execute(1, 2));
+        assertEquals(Integer.MAX_VALUE + 1L, node.execute(Integer.MAX_VALUE, 1));
+        assertEquals(NodeCost.MONOMORPHIC, node.getCost());
+        // doInt is excluded after it overflowed once
+        assertEquals(3L, node.execute(1, 2));
+    }
+
+    @Test
+    public void testImplicitCastAndFallback() {
+        AddNode node = AddNodeGen.create();
+        assertEquals(3L, node.execute(1, 2L));
+        assertEquals("fallback", node.execute("a", 1));
+        assertEquals(NodeCost.POLYMORPHIC, node.getCost());
+        assertEquals(5L, node.execute(2L, 3));
+        assertEquals("fallback", node.execute(1, "b"));
+    }
+
+    @TypeSystemReference(StateBitsetTypes.class)
+    abstract static class ContainsNode extends Node {
+
+        abstract Object execute(Object a);
+
+        @Specialization(guards = "a == 1")
+        @SuppressWarnings("unused")
+        String doOne(int a) {
+            return "one";
+        }
+
+        @Specialization(contains = "doOne")
+        @SuppressWarnings("unused")
+        String doInt(int a) {
+            return "int";
+        }
+    }
+
+    @Test
+    public void testContains() {
+        ContainsNode node = ContainsNodeGen.create();
+        assertEquals("one", node.execute(1));
+        assertEquals("int", node.execute(2));
+        assertEquals("int", node.execute(1));
+        assertEquals(NodeCost.MONOMORPHIC, node.getCost());
+    }
+
+}
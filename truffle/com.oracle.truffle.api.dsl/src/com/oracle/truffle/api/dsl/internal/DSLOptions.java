@@ -51,6 +51,14 @@ public @interface DSLOptions {
     /** Not yet implemented. */
     boolean useDisjunctiveMethodGuardOptimization() default true;
 
+    /**
+     * Encodes the active specializations of a node as an int bitset in a field of the generated
+     * node instead of a chain of specialization nodes. This avoids allocating and adopting one node
+     * per specialization and lets the fast path dispatch with a few bit tests. Nodes that use
+     * caches, assumptions or short circuits keep the specialization node chain.
+     */
+    boolean useStateBitsets() default false;
+
     enum ImplicitCastOptimization {
 
         /** Perform no informed optimization for implicit casts. */
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.instrumentation;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter.IndexRange;
+import com.oracle.truffle.api.instrumentation.TruffleInstrument.Registration;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+
+/**
+ * Measures attaching and disposing bindings of different selectivity while many roots are loaded
+ * and executed.
+ */
+@State(value = Scope.Benchmark)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InstrumentationBindingBenchmark {
+
+    private static final int SOURCES = 5000;
+
+    private PolyglotEngine engine;
+    private Instrumenter instrumenter;
+    private Source selected;
+
+    @Setup
+    public void prepare() throws IOException {
+        engine = PolyglotEngine.newBuilder().build();
+        engine.getInstruments().get(BindingBenchmarkInstrument.ID).setEnabled(true);
+        instrumenter = engine.getInstruments().get(BindingBenchmarkInstrument.ID).lookup(BindingBenchmarkInstrument.class).instrumenter;
+        // every source defines and calls a function: two loaded and executed roots per source
+        for (int i = 0; i < SOURCES; i++) {
+            String code = "ROOT(DEFINE(f" + i + ", STATEMENT(EXPRESSION)), CALL(f" + i + "))";
+            Source source = Source.newBuilder(code).name("source" + i).mimeType(InstrumentationTestLanguage.MIME_TYPE).build();
+            engine.eval(source);
+            if (i == SOURCES / 2) {
+                selected = source;
+            }
+        }
+    }
+
+    @TearDown
+    public void dispose() {
+        engine.dispose();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void attachLineBinding() {
+        SourceSectionFilter filter = SourceSectionFilter.newBuilder().sourceIs(selected).lineIn(IndexRange.byLength(1, 1)).tagIs(StandardTags.StatementTag.class).build();
+        instrumenter.attachListener(filter, Listener.INSTANCE).dispose();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void attachSourceBinding() {
+        SourceSectionFilter filter = SourceSectionFilter.newBuilder().sourceIs(selected).build();
+        instrumenter.attachListener(filter, Listener.INSTANCE).dispose();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void attachLoadSourceSectionListener() {
+        SourceSectionFilter filter = SourceSectionFilter.newBuilder().sourceIs(selected).tagIs(StandardTags.StatementTag.class).build();
+        instrumenter.attachLoadSourceSectionListener(filter, LoadListener.INSTANCE, true).dispose();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void attachTagBinding() {
+        SourceSectionFilter filter = SourceSectionFilter.newBuilder().tagIs(StandardTags.StatementTag.class).build();
+        instrumenter.attachListener(filter, Listener.INSTANCE).dispose();
+    }
+
+    private static final class Listener implements ExecutionEventListener {
+
+        static final Listener INSTANCE = new Listener();
+
+        public void onEnter(EventContext context, VirtualFrame frame) {
+        }
+
+        public void onReturnValue(EventContext context, VirtualFrame frame, Object result) {
+        }
+
+        public void onReturnExceptional(EventContext context, VirtualFrame frame, Throwable exception) {
+        }
+    }
+
+    private static final class LoadListener implements LoadSourceSectionListener {
+
+        static final LoadListener INSTANCE = new LoadListener();
+
+        public void onLoad(LoadSourceSectionEvent event) {
+        }
+    }
+
+    @Registration(id = BindingBenchmarkInstrument.ID)
+    public static final class BindingBenchmarkInstrument extends TruffleInstrument {
+
+        static final String ID = "InstrumentationBindingBenchmark";
+
+        Instrumenter instrumenter;
+
+        @Override
+        protected void onCreate(Env env) {
+            instrumenter = env.getInstrumenter();
+            env.registerService(this);
+        }
+    }
+}
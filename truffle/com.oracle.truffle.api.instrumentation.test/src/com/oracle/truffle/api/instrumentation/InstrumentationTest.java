@@ -649,6 +649,49 @@ public class InstrumentationTest extends AbstractInstrumentationTest {
         }
     }
 
+    /*
+     * Test that a binding restricted to a source instruments only the already executed roots of
+     * that source.
+     */
+    @Test
+    public void testInstrumentSourceAfterExecution() throws IOException {
+        Source source1 = lines("STATEMENT");
+        Source source2 = lines("ROOT(STATEMENT, STATEMENT)");
+        run(source1);
+        run(source2);
+
+        TestInstrumentSource1.onStatement = 0;
+        TestInstrumentSource1.source = source2;
+        engine.getInstruments().get("testInstrumentSource").setEnabled(true);
+
+        run(source1);
+        Assert.assertEquals(0, TestInstrumentSource1.onStatement);
+        run(source2);
+        Assert.assertEquals(2, TestInstrumentSource1.onStatement);
+    }
+
+    @Registration(id = "testInstrumentSource")
+    public static class TestInstrumentSource1 extends TruffleInstrument {
+
+        static int onStatement = 0;
+        static Source source;
+
+        @Override
+        protected void onCreate(final Env env) {
+            env.getInstrumenter().attachListener(SourceSectionFilter.newBuilder().sourceIs(source).tagIs(InstrumentationTestLanguage.STATEMENT).build(), new ExecutionEventListener() {
+                public void onEnter(EventContext context, VirtualFrame frame) {
+                    onStatement++;
+                }
+
+                public void onReturnExceptional(EventContext context, VirtualFrame frame, Throwable exception) {
+                }
+
+                public void onReturnValue(EventContext context, VirtualFrame frame, Object result) {
+                }
+            });
+        }
+    }
+
     /*
      * Tests for debugger or any other clients that cancel execution while halted
      */
@@ -71,8 +71,8 @@ final class InstrumentationHandler {
     /* Load order needs to be preserved for sources, thats why we store sources again in a list. */
     private final Collection<Source> sourcesList = new WeakAsyncList<>(16);
 
-    private final Collection<RootNode> loadedRoots = new WeakAsyncList<>(256);
-    private final Collection<RootNode> executedRoots = new WeakAsyncList<>(64);
+    private final RootIndex loadedRoots = new RootIndex(256);
+    private final RootIndex executedRoots = new RootIndex(64);
 
     private final Collection<EventBinding<?>> executionBindings = new EventBindingList(8);
     private final Collection<EventBinding<?>> sourceSectionBindings = new EventBindingList(8);
@@ -184,7 +184,7 @@ final class InstrumentationHandler {
         this.executionBindings.add(binding);
 
         if (!executedRoots.isEmpty()) {
-            visitRoots(executedRoots, new InsertWrappersWithBindingVisitor(binding));
+            visitRoots(executedRoots.select(binding.getFilter()), new InsertWrappersWithBindingVisitor(binding));
         }
 
         if (TRACE) {
@@ -202,7 +202,7 @@ final class InstrumentationHandler {
         this.sourceSectionBindings.add(binding);
         if (notifyLoaded) {
             if (!loadedRoots.isEmpty()) {
-                visitRoots(loadedRoots, new NotifyLoadedWithBindingVisitor(binding));
+                visitRoots(loadedRoots.select(binding.getFilter()), new NotifyLoadedWithBindingVisitor(binding));
             }
         }
 
@@ -232,7 +232,7 @@ final class InstrumentationHandler {
         return binding;
     }
 
-    private void visitRoots(Collection<RootNode> roots, AbstractNodeVisitor addBindingsVisitor) {
+    private void visitRoots(Iterable<RootNode> roots, AbstractNodeVisitor addBindingsVisitor) {
         for (RootNode root : roots) {
             visitRoot(root, addBindingsVisitor);
         }
@@ -244,7 +244,7 @@ final class InstrumentationHandler {
         }
 
         if (binding.isExecutionEvent()) {
-            visitRoots(executedRoots, new DisposeWrappersVisitor(binding));
+            visitRoots(executedRoots.select(binding.getFilter()), new DisposeWrappersVisitor(binding));
         }
 
         if (TRACE) {
@@ -1155,6 +1155,81 @@ final class InstrumentationHandler {
 
     }
 
+    /**
+     * An async list of weakly referenced roots that additionally indexes the roots by the source of
+     * their source section. Bindings restricted to a set of sources only need to visit the roots of
+     * these sources and the roots without a source.
+     */
+    private static final class RootIndex extends AbstractCollection<RootNode> {
+
+        private final Collection<RootNode> roots;
+        private final Collection<RootNode> unsourcedRoots = new WeakAsyncList<>(16);
+        private final Map<Source, Collection<RootNode>> sourceRoots = Collections.synchronizedMap(new WeakHashMap<Source, Collection<RootNode>>());
+
+        RootIndex(int initialCapacity) {
+            this.roots = new WeakAsyncList<>(initialCapacity);
+        }
+
+        @Override
+        public boolean add(RootNode root) {
+            SourceSection sourceSection = root.getSourceSection();
+            Source source = sourceSection == null ? null : sourceSection.getSource();
+            if (source == null) {
+                unsourcedRoots.add(root);
+            } else {
+                Collection<RootNode> list;
+                synchronized (sourceRoots) {
+                    list = sourceRoots.get(source);
+                    if (list == null) {
+                        list = new WeakAsyncList<>(4);
+                        sourceRoots.put(source, list);
+                    }
+                }
+                list.add(root);
+            }
+            return roots.add(root);
+        }
+
+        /**
+         * Returns the roots that may contain source sections matched by the given filter.
+         */
+        Iterable<RootNode> select(SourceSectionFilter filter) {
+            Source[] sources = filter.getReferencedSources();
+            if (sources == null) {
+                return roots;
+            }
+            List<RootNode> selected = new ArrayList<>();
+            for (Source source : new LinkedHashSet<>(Arrays.asList(sources))) {
+                Collection<RootNode> list = sourceRoots.get(source);
+                if (list != null) {
+                    for (RootNode root : list) {
+                        selected.add(root);
+                    }
+                }
+            }
+            for (RootNode root : unsourcedRoots) {
+                selected.add(root);
+            }
+            return selected;
+        }
+
+        @Override
+        public Iterator<RootNode> iterator() {
+            return roots.iterator();
+        }
+
+        @Override
+        public int size() {
+            return roots.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return roots.isEmpty();
+        }
+
+    }
+
     static final AccessorInstrumentHandler ACCESSOR = new AccessorInstrumentHandler();
 
     static final class AccessorInstrumentHandler extends Accessor {
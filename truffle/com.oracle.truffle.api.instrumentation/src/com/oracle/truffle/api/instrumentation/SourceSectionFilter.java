@@ -104,6 +104,19 @@ public final class SourceSectionFilter {
         return usedTags;
     }
 
+    /**
+     * Returns the sources this filter is restricted to or <code>null</code> if the filter may
+     * match source sections of any source.
+     */
+    Source[] getReferencedSources() {
+        for (EventFilterExpression expression : expressions) {
+            if (expression instanceof EventFilterExpression.SourceIs) {
+                return ((EventFilterExpression.SourceIs) expression).sources;
+            }
+        }
+        return null;
+    }
+
     boolean isSourceOnly() {
         for (EventFilterExpression eventFilterExpression : expressions) {
             if (!eventFilterExpression.isSourceOnly()) {
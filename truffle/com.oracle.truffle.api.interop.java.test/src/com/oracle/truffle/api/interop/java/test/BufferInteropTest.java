@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.interop.java.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.java.BufferSchema;
+import com.oracle.truffle.api.interop.java.JavaInterop;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+
+public class BufferInteropTest {
+    public interface Row {
+        int id();
+
+        double value();
+    }
+
+    public interface Columns {
+        List<Number> id();
+
+        List<Number> value();
+    }
+
+    private static TruffleObject createData(BufferSchema.Layout layout, ByteBuffer buffer) {
+        BufferSchema schema = BufferSchema.newBuilder(3, layout).add("id", BufferSchema.Type.INT).add("value", BufferSchema.Type.DOUBLE).build();
+        assertEquals(36, schema.getByteSize());
+        assertEquals(Arrays.asList("id", "value"), schema.getNames());
+        assertEquals(BufferSchema.Type.DOUBLE, schema.getType("value"));
+        assertNull(schema.getType("unknown"));
+        for (int i = 0; i < 3; i++) {
+            if (layout == BufferSchema.Layout.ROW_MAJOR) {
+                buffer.putInt(i * 12, i + 1);
+                buffer.putDouble(i * 12 + 4, (i + 1) * 0.5);
+            } else {
+                buffer.putInt(i * 4, i + 1);
+                buffer.putDouble(12 + i * 8, (i + 1) * 0.5);
+            }
+        }
+        return JavaInterop.asTruffleBuffer(buffer, schema);
+    }
+
+    private static void assertData(TruffleObject data) {
+        @SuppressWarnings("unchecked")
+        List<Object> rows = JavaInterop.asJavaObject(List.class, data);
+        assertEquals(3, rows.size());
+        Row row = JavaInterop.asJavaObject(Row.class, (TruffleObject) rows.get(1));
+        assertEquals(2, row.id());
+        assertEquals(1.0, row.value(), 0.0);
+
+        Columns columns = JavaInterop.asJavaObject(Columns.class, data);
+        assertEquals(3, columns.value().size());
+        double sum = 0;
+        for (Number value : columns.value()) {
+            sum += value.doubleValue();
+        }
+        assertEquals(3.0, sum, 0.0);
+        assertEquals(3, columns.id().get(2).intValue());
+    }
+
+    @Test
+    public void rowMajor() {
+        assertData(createData(BufferSchema.Layout.ROW_MAJOR, ByteBuffer.allocate(36)));
+    }
+
+    @Test
+    public void columnMajor() {
+        assertData(createData(BufferSchema.Layout.COLUMN_MAJOR, ByteBuffer.allocate(36)));
+    }
+
+    @Test
+    public void directLittleEndian() {
+        assertData(createData(BufferSchema.Layout.COLUMN_MAJOR, ByteBuffer.allocateDirect(36).order(ByteOrder.LITTLE_ENDIAN)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bufferTooSmall() {
+        BufferSchema schema = BufferSchema.newBuilder(10, BufferSchema.Layout.ROW_MAJOR).add("value", BufferSchema.Type.LONG).build();
+        JavaInterop.asTruffleBuffer(ByteBuffer.allocate(79), schema);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateField() {
+        BufferSchema.newBuilder(1, BufferSchema.Layout.ROW_MAJOR).add("value", BufferSchema.Type.LONG).add("value", BufferSchema.Type.INT);
+    }
+
+    @Test
+    public void readWithLongIndex() {
+        TruffleObject data = createData(BufferSchema.Layout.ROW_MAJOR, ByteBuffer.allocate(36));
+        TruffleObject column = (TruffleObject) read(data, "id");
+        assertEquals(2, read(column, 1L));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void longIndexIsNotTruncated() {
+        TruffleObject data = createData(BufferSchema.Layout.ROW_MAJOR, ByteBuffer.allocate(36));
+        read(data, 4294967297L);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fractionalIndexIsRejected() {
+        TruffleObject data = createData(BufferSchema.Layout.COLUMN_MAJOR, ByteBuffer.allocate(36));
+        TruffleObject column = (TruffleObject) read(data, "value");
+        read(column, 1.5);
+    }
+
+    private static Object read(TruffleObject receiver, Object identifier) {
+        CallTarget callTarget = Truffle.getRuntime().createCallTarget(new ReadRoot(TruffleLanguage.class, receiver, identifier));
+        return callTarget.call();
+    }
+
+    private static class ReadRoot extends RootNode {
+        @Node.Child private Node read = Message.READ.createNode();
+        private final TruffleObject receiver;
+        private final Object identifier;
+
+        @SuppressWarnings("rawtypes")
+        ReadRoot(Class<? extends TruffleLanguage> lang, TruffleObject receiver, Object identifier) {
+            super(lang, null, null);
+            this.receiver = receiver;
+            this.identifier = identifier;
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            try {
+                return ForeignAccess.sendRead(read, frame, receiver, identifier);
+            } catch (InteropException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -61,6 +61,18 @@ public class JavaInteropTest {
         return a + b;
     }
 
+    public int sum(int a) {
+        return a;
+    }
+
+    public int sum(int a, int b) {
+        return a + b;
+    }
+
+    public static String name(Object o) {
+        return o.getClass().getSimpleName();
+    }
+
     public Object assertThis(Object param) {
         assertSame("When a Java object is passed into Truffle and back, it is again the same object", this, param);
         assertThisCalled = true;
@@ -143,6 +155,19 @@ public class JavaInteropTest {
         assertEquals((Integer) 42, xyp.value());
     }
 
+    @Test
+    public void invokeDifferentMethodsThroughOneNode() {
+        CallTarget invoke = Truffle.getRuntime().createCallTarget(new InvokeRoot(TruffleLanguage.class));
+        assertEquals(42.5d, invoke.call(obj, "plus", new Object[]{40.0d, 2.5d}));
+        assertEquals(3, invoke.call(obj, "sum", new Object[]{3}));
+        assertEquals(7, invoke.call(obj, "sum", new Object[]{3, 4}));
+        assertEquals(5, invoke.call(obj, "sum", new Object[]{5}));
+        assertEquals("Integer", invoke.call(obj, "name", new Object[]{42}));
+        TruffleObject other = JavaInterop.asTruffleObject(new StringBuilder("Hello"));
+        assertEquals(5, invoke.call(other, "length", new Object[0]));
+        assertEquals(12, invoke.call(obj, "sum", new Object[]{12}));
+    }
+
     public interface XYPlus {
         List<String> arr();
 
@@ -189,4 +214,23 @@ public class JavaInteropTest {
         }
     } // end of TemporaryRoot
 
+    private static class InvokeRoot extends RootNode {
+        @Node.Child private Node invoke = Message.createInvoke(0).createNode();
+
+        @SuppressWarnings("rawtypes")
+        InvokeRoot(Class<? extends TruffleLanguage> lang) {
+            super(lang, null, null);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object[] arguments = frame.getArguments();
+            try {
+                return ForeignAccess.sendInvoke(invoke, frame, (TruffleObject) arguments[0], (String) arguments[1], (Object[]) arguments[2]);
+            } catch (InteropException e) {
+                throw new AssertionError(e);
+            }
+        }
+    } // end of InvokeRoot
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.interop.java;
+
+import com.oracle.truffle.api.interop.MessageResolution;
+import com.oracle.truffle.api.interop.Resolve;
+import com.oracle.truffle.api.nodes.Node;
+
+@MessageResolution(receiverType = BufferColumn.class, language = JavaInteropLanguage.class)
+class BufferColumnMessageResolution {
+
+    @Resolve(message = "HAS_SIZE")
+    abstract static class BufferColumnHasSizeNode extends Node {
+
+        @SuppressWarnings("unused")
+        public Object access(BufferColumn receiver) {
+            return true;
+        }
+
+    }
+
+    @Resolve(message = "GET_SIZE")
+    abstract static class BufferColumnGetSizeNode extends Node {
+
+        public Object access(BufferColumn receiver) {
+            return receiver.rowCount;
+        }
+
+    }
+
+    @Resolve(message = "READ")
+    abstract static class BufferColumnReadNode extends Node {
+
+        public Object access(BufferColumn receiver, Number index) {
+            final int row = BufferObject.checkBounds(index, receiver.rowCount);
+            return receiver.field.read(receiver.buffer, row);
+        }
+
+    }
+
+}
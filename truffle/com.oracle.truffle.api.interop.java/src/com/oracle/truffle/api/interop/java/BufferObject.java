@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.interop.java;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.TruffleObject;
+
+/**
+ * All rows of a {@link ByteBuffer} described by a {@link BufferSchema}. Reading an index yields a
+ * {@link BufferRow row}, reading a field name yields a {@link BufferColumn column}.
+ */
+final class BufferObject implements TruffleObject {
+
+    final ByteBuffer buffer;
+    final BufferSchema schema;
+
+    BufferObject(ByteBuffer buffer, BufferSchema schema) {
+        this.buffer = buffer;
+        this.schema = schema;
+    }
+
+    @Override
+    public ForeignAccess getForeignAccess() {
+        return BufferObjectMessageResolutionForeign.createAccess();
+    }
+
+    public static boolean isInstance(TruffleObject obj) {
+        return obj instanceof BufferObject;
+    }
+
+    static int checkBounds(Number index, int size) {
+        final long idx = index.longValue();
+        // reject indices that do not fit into an int or have a fractional part before narrowing
+        if (idx < 0 || idx >= size || index.doubleValue() != idx) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IndexOutOfBoundsException("Index: " + index + " Size: " + size);
+        }
+        return (int) idx;
+    }
+}
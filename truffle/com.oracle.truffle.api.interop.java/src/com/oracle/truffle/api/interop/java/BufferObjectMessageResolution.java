@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.interop.java;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.MessageResolution;
+import com.oracle.truffle.api.interop.Resolve;
+import com.oracle.truffle.api.interop.UnknownIdentifierException;
+import com.oracle.truffle.api.nodes.Node;
+
+@MessageResolution(receiverType = BufferObject.class, language = JavaInteropLanguage.class)
+class BufferObjectMessageResolution {
+
+    @Resolve(message = "HAS_SIZE")
+    abstract static class BufferHasSizeNode extends Node {
+
+        @SuppressWarnings("unused")
+        public Object access(BufferObject receiver) {
+            return true;
+        }
+
+    }
+
+    @Resolve(message = "GET_SIZE")
+    abstract static class BufferGetSizeNode extends Node {
+
+        public Object access(BufferObject receiver) {
+            return receiver.schema.getRowCount();
+        }
+
+    }
+
+    @Resolve(message = "READ")
+    abstract static class BufferReadNode extends Node {
+
+        @CompilationFinal private CachedField cached;
+
+        public Object access(BufferObject receiver, Number index) {
+            final int row = BufferObject.checkBounds(index, receiver.schema.getRowCount());
+            return new BufferRow(receiver.buffer, receiver.schema, row);
+        }
+
+        public Object access(BufferObject receiver, String name) {
+            final BufferSchema.Field field;
+            final CachedField c = cached;
+            if (c != null && c.matches(receiver.schema, name)) {
+                field = c.field;
+            } else {
+                field = lookupField(receiver.schema, name);
+                if (c == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    cached = new CachedField(receiver.schema, name, field);
+                }
+            }
+            return new BufferColumn(receiver.buffer, field, receiver.schema.getRowCount());
+        }
+
+        @TruffleBoundary
+        static BufferSchema.Field lookupField(BufferSchema schema, String name) {
+            final BufferSchema.Field field = schema.findField(name);
+            if (field == null) {
+                throw UnknownIdentifierException.raise(name);
+            }
+            return field;
+        }
+
+        /**
+         * The field found for one schema and name. It is published as a whole, so a concurrent
+         * reader never sees a matching key without its field.
+         */
+        static final class CachedField {
+            final BufferSchema schema;
+            final String name;
+            final BufferSchema.Field field;
+
+            CachedField(BufferSchema schema, String name, BufferSchema.Field field) {
+                this.schema = schema;
+                this.name = name;
+                this.field = field;
+            }
+
+            boolean matches(BufferSchema otherSchema, String otherName) {
+                return schema == otherSchema && name.equals(otherName);
+            }
+        }
+
+    }
+
+}
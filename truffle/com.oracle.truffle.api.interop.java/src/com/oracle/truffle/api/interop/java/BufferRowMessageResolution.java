@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.interop.java;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.interop.MessageResolution;
+import com.oracle.truffle.api.interop.Resolve;
+import com.oracle.truffle.api.interop.java.BufferObjectMessageResolution.BufferReadNode.CachedField;
+import com.oracle.truffle.api.nodes.Node;
+
+@MessageResolution(receiverType = BufferRow.class, language = JavaInteropLanguage.class)
+class BufferRowMessageResolution {
+
+    @Resolve(message = "READ")
+    abstract static class BufferRowReadNode extends Node {
+
+        @CompilationFinal private CachedField cached;
+
+        public Object access(BufferRow row, String name) {
+            final BufferSchema.Field field;
+            final CachedField c = cached;
+            if (c != null && c.matches(row.schema, name)) {
+                field = c.field;
+            } else {
+                field = BufferObjectMessageResolution.BufferReadNode.lookupField(row.schema, name);
+                if (c == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    cached = new CachedField(row.schema, name, field);
+                }
+            }
+            return field.read(row.buffer, row.index);
+        }
+
+    }
+
+}
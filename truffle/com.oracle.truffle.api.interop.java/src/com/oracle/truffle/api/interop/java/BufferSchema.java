@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.interop.java;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.interop.TruffleObject;
+
+/**
+ * Describes the records stored in a {@link ByteBuffer}, so the buffer can be
+ * {@link JavaInterop#asTruffleBuffer(ByteBuffer, BufferSchema) exposed} to <em>Truffle</em>
+ * languages without copying its content. A schema consists of a number of rows and of named
+ * fields of primitive {@link Type types}, stored either {@link Layout#ROW_MAJOR row by row} or
+ * {@link Layout#COLUMN_MAJOR column by column}:
+ *
+ * <pre>
+ * BufferSchema schema = BufferSchema.newBuilder(rows, BufferSchema.Layout.COLUMN_MAJOR).
+ *     add("id", BufferSchema.Type.INT).
+ *     add("value", BufferSchema.Type.DOUBLE).
+ *     build();
+ * ByteBuffer buffer = ByteBuffer.allocateDirect(schema.getByteSize());
+ * {@link TruffleObject} data = JavaInterop.asTruffleBuffer(buffer, schema);
+ * </pre>
+ *
+ * The offset of every field is computed once when the schema is built.
+ *
+ * @since 0.16
+ */
+public final class BufferSchema {
+
+    /**
+     * Primitive type of a field.
+     *
+     * @since 0.16
+     */
+    public enum Type {
+        /** @since 0.16 */
+        BYTE(Byte.SIZE / Byte.SIZE),
+        /** @since 0.16 */
+        SHORT(Short.SIZE / Byte.SIZE),
+        /** @since 0.16 */
+        INT(Integer.SIZE / Byte.SIZE),
+        /** @since 0.16 */
+        LONG(Long.SIZE / Byte.SIZE),
+        /** @since 0.16 */
+        FLOAT(Float.SIZE / Byte.SIZE),
+        /** @since 0.16 */
+        DOUBLE(Double.SIZE / Byte.SIZE);
+
+        private final int size;
+
+        Type(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Number of bytes a value of this type occupies in the buffer.
+         *
+         * @return size in bytes
+         * @since 0.16
+         */
+        public int getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Order in which the fields of all rows are stored in the buffer.
+     *
+     * @since 0.16
+     */
+    public enum Layout {
+        /**
+         * All fields of the first row, followed by all fields of the second row, etc.
+         *
+         * @since 0.16
+         */
+        ROW_MAJOR,
+        /**
+         * The values of the first field for all rows, followed by the values of the second field,
+         * etc.
+         *
+         * @since 0.16
+         */
+        COLUMN_MAJOR;
+    }
+
+    private final int rowCount;
+    private final Layout layout;
+    private final Field[] fields;
+    private final Map<String, Field> fieldsByName;
+    private final int byteSize;
+
+    private BufferSchema(int rowCount, Layout layout, List<String> names, List<Type> types) {
+        this.rowCount = rowCount;
+        this.layout = layout;
+        this.fields = new Field[names.size()];
+        this.fieldsByName = new HashMap<>();
+        long rowSize = 0;
+        for (Type type : types) {
+            rowSize += type.size;
+        }
+        final long size = rowSize * rowCount;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Schema needs " + size + " bytes, more than a ByteBuffer can hold");
+        }
+        this.byteSize = (int) size;
+        int offset = 0;
+        for (int i = 0; i < fields.length; i++) {
+            final Type type = types.get(i);
+            final Field field;
+            if (layout == Layout.ROW_MAJOR) {
+                field = new Field(names.get(i), type, offset, (int) rowSize);
+                offset += type.size;
+            } else {
+                field = new Field(names.get(i), type, offset, type.size);
+                offset += type.size * rowCount;
+            }
+            fields[i] = field;
+            fieldsByName.put(field.name, field);
+        }
+    }
+
+    /**
+     * Starts creation of a new schema.
+     *
+     * @param rowCount number of rows stored in the buffer
+     * @param layout the order of fields in the buffer
+     * @return new builder to add fields to
+     * @since 0.16
+     */
+    public static Builder newBuilder(int rowCount, Layout layout) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("rowCount: " + rowCount);
+        }
+        if (layout == null) {
+            throw new NullPointerException();
+        }
+        return new Builder(rowCount, layout);
+    }
+
+    /**
+     * Number of rows.
+     *
+     * @return the row count specified when building the schema
+     * @since 0.16
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Order of the fields in the buffer.
+     *
+     * @return the layout specified when building the schema
+     * @since 0.16
+     */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Names of the fields in the order they were added.
+     *
+     * @return unmodifiable list of names
+     * @since 0.16
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>(fields.length);
+        for (Field field : fields) {
+            names.add(field.name);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Type of a field.
+     *
+     * @param name name of the field
+     * @return the type of the field or <code>null</code> if there is no field of such name
+     * @since 0.16
+     */
+    public Type getType(String name) {
+        Field field = fieldsByName.get(name);
+        return field == null ? null : field.type;
+    }
+
+    /**
+     * Number of bytes occupied by all rows. A buffer exposed with this schema must have at least
+     * this many bytes before its limit.
+     *
+     * @return size in bytes
+     * @since 0.16
+     */
+    public int getByteSize() {
+        return byteSize;
+    }
+
+    Field findField(String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * Collects the fields of a {@link BufferSchema}. Obtain an instance via
+     * {@link BufferSchema#newBuilder(int, Layout)}.
+     *
+     * @since 0.16
+     */
+    public static final class Builder {
+        private final int rowCount;
+        private final Layout layout;
+        private final List<String> names = new ArrayList<>();
+        private final List<Type> types = new ArrayList<>();
+
+        Builder(int rowCount, Layout layout) {
+            this.rowCount = rowCount;
+            this.layout = layout;
+        }
+
+        /**
+         * Adds a field. Fields are stored in the order they are added.
+         *
+         * @param name name of the field, must be unique within the schema
+         * @param type type of the field
+         * @return this builder
+         * @since 0.16
+         */
+        public Builder add(String name, Type type) {
+            if (name == null || type == null) {
+                throw new NullPointerException();
+            }
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("Duplicate field " + name);
+            }
+            names.add(name);
+            types.add(type);
+            return this;
+        }
+
+        /**
+         * Creates the schema and computes the offsets of its fields.
+         *
+         * @return new schema
+         * @since 0.16
+         */
+        public BufferSchema build() {
+            return new BufferSchema(rowCount, layout, names, types);
+        }
+    }
+
+    /** A field and its position: the value of row {@code i} is at {@code base + i * stride}. */
+    static final class Field {
+        final String name;
+        final Type type;
+        private final int base;
+        private final int stride;
+
+        Field(String name, Type type, int base, int stride) {
+            this.name = name;
+            this.type = type;
+            this.base = base;
+            this.stride = stride;
+        }
+
+        Object read(ByteBuffer buffer, int row) {
+            final int offset = base + row * stride;
+            switch (type) {
+                case BYTE:
+                    return buffer.get(offset);
+                case SHORT:
+                    return buffer.getShort(offset);
+                case INT:
+                    return buffer.getInt(offset);
+                case LONG:
+                    return buffer.getLong(offset);
+                case FLOAT:
+                    return buffer.getFloat(offset);
+                case DOUBLE:
+                    return buffer.getDouble(offset);
+                default:
+                    throw new IllegalStateException(type.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.interop.java;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.oracle.truffle.api.CompilerAsserts;
+
+/**
+ * Members of a Java class as seen by the interop messages. The public methods are grouped by name
+ * once per class, fields are looked up on first access and {@link MethodHandle}s are created on
+ * first invocation. Instances are shared by all {@link JavaObject}s of the same class.
+ */
+final class JavaClassDesc {
+    private static final Method[] NO_METHODS = {};
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final ClassValue<JavaClassDesc> DESCS = new ClassValue<JavaClassDesc>() {
+        @Override
+        protected JavaClassDesc computeValue(Class<?> type) {
+            return new JavaClassDesc(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<String, Method[]> methods;
+    private final ConcurrentMap<String, Field> fields = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, MethodHandle> handles = new ConcurrentHashMap<>();
+
+    private JavaClassDesc(Class<?> type) {
+        this.type = type;
+        Map<String, List<Method>> byName = new HashMap<>();
+        for (Method m : type.getMethods()) {
+            List<Method> overloads = byName.get(m.getName());
+            if (overloads == null) {
+                overloads = new ArrayList<>(1);
+                byName.put(m.getName(), overloads);
+            }
+            overloads.add(m);
+        }
+        Map<String, Method[]> map = new HashMap<>();
+        for (Map.Entry<String, List<Method>> entry : byName.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().toArray(NO_METHODS));
+        }
+        this.methods = map;
+    }
+
+    static JavaClassDesc forClass(Class<?> type) {
+        CompilerAsserts.neverPartOfCompilation();
+        return DESCS.get(type);
+    }
+
+    /**
+     * Finds the first public method of given name that accepts <code>arity</code> arguments.
+     *
+     * @return the method or <code>null</code>
+     */
+    Method lookupMethod(String name, int arity) {
+        Method[] overloads = methods.get(name);
+        if (overloads != null) {
+            for (Method m : overloads) {
+                if (m.getParameterTypes().length == arity || m.isVarArgs()) {
+                    return m;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the first public method of given name which is static or an instance one.
+     *
+     * @return the method or <code>null</code>
+     */
+    Method lookupMethod(String name, boolean onlyStatic) {
+        Method[] overloads = methods.get(name);
+        if (overloads != null) {
+            for (Method m : overloads) {
+                final boolean isStatic = (m.getModifiers() & Modifier.STATIC) != 0;
+                if (onlyStatic == isStatic) {
+                    return m;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a public field as {@link Class#getField(String)} does. Only found fields are
+     * remembered, names that are not fields of the class are looked up again each time.
+     *
+     * @return the field or <code>null</code>
+     */
+    Field lookupField(String name) {
+        Field field = fields.get(name);
+        if (field == null) {
+            try {
+                field = type.getField(name);
+            } catch (NoSuchFieldException ex) {
+                return null;
+            }
+            fields.put(name, field);
+        }
+        return field;
+    }
+
+    /**
+     * Creates a handle for a method of this class. The handle takes the receiver (ignored for
+     * static methods) and an array with exactly one element per declared parameter and returns
+     * the boxed result, or <code>null</code> for <code>void</code> methods.
+     */
+    MethodHandle methodHandle(Method method) throws IllegalAccessException {
+        MethodHandle handle = handles.get(method);
+        if (handle == null) {
+            method.setAccessible(true);
+            MethodHandle direct = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if ((method.getModifiers() & Modifier.STATIC) != 0) {
+                direct = MethodHandles.dropArguments(direct, 0, Object.class);
+            }
+            handle = direct.asSpreader(Object[].class, method.getParameterTypes().length).asType(INVOKE_TYPE);
+            MethodHandle previous = handles.putIfAbsent(method, handle);
+            if (previous != null) {
+                handle = previous;
+            }
+        }
+        return handle;
+    }
+}
@@ -24,8 +24,8 @@
  */
 package com.oracle.truffle.api.interop.java;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import com.oracle.truffle.api.CompilerDirectives;
@@ -117,16 +117,21 @@ class JavaFunctionMessageResolution {
                             arguments[i] = args[i];
                         }
                     }
-                    return reflectiveInvoke(method, obj, arguments);
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+                    return handleInvoke(method, obj, arguments);
+                } catch (IllegalAccessException | IllegalArgumentException ex) {
                     throw new IllegalStateException(ex);
                 }
             }
 
             @TruffleBoundary
-            private static Object reflectiveInvoke(Method method, Object obj, Object[] arguments) throws IllegalAccessException, InvocationTargetException {
-                method.setAccessible(true);
-                Object ret = method.invoke(obj, arguments);
+            private static Object handleInvoke(Method method, Object obj, Object[] arguments) throws IllegalAccessException {
+                MethodHandle handle = JavaClassDesc.forClass(method.getDeclaringClass()).methodHandle(method);
+                Object ret;
+                try {
+                    ret = (Object) handle.invokeExact(obj, arguments);
+                } catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
                 if (ToJavaNode.isPrimitive(ret)) {
                     return ret;
                 }
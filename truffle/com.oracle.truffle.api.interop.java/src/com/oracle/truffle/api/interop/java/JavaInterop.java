@@ -25,6 +25,7 @@
 package com.oracle.truffle.api.interop.java;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleLanguage;
@@ -187,6 +188,36 @@ public final class JavaInterop {
         return new JavaObject(obj, obj.getClass());
     }
 
+    /**
+     * Exports records stored in a {@link ByteBuffer} for use in any {@link TruffleLanguage}. The
+     * buffer is not copied; values are read directly from it, so the buffer may be
+     * {@link ByteBuffer#allocateDirect(int) direct} or a memory mapped file. The returned object
+     * {@link Message#HAS_SIZE has size} of {@link BufferSchema#getRowCount()}. Reading an index
+     * yields a row whose fields are read by name, reading a field name yields a column indexed by
+     * row:
+     *
+     * <pre>
+     * data[i].value;
+     * data.value[i];
+     * </pre>
+     *
+     * Values are read with the {@link ByteBuffer#order() byte order} the buffer has when this
+     * method is called.
+     *
+     * @param buffer the buffer holding the records
+     * @param schema description of the records
+     * @return read-only view of the buffer
+     * @throws IllegalArgumentException if the buffer has less than
+     *             {@link BufferSchema#getByteSize()} bytes before its limit
+     * @since 0.16
+     */
+    public static TruffleObject asTruffleBuffer(ByteBuffer buffer, BufferSchema schema) {
+        if (buffer.limit() < schema.getByteSize()) {
+            throw new IllegalArgumentException("Buffer limit " + buffer.limit() + " is smaller than schema size " + schema.getByteSize());
+        }
+        return new BufferObject(buffer.duplicate().order(buffer.order()), schema);
+    }
+
     /**
      * Takes executable object from a {@link TruffleLanguage} and converts it into an instance of a
      * <b>Java</b> <em>functional interface</em>.
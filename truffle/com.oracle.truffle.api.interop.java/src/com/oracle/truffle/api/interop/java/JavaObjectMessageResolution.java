@@ -32,6 +32,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.MessageResolution;
@@ -80,20 +82,57 @@ class JavaObjectMessageResolution {
     abstract static class InvokeNode extends Node {
 
         @Child private DoExecuteNode doExecute;
+        @CompilationFinal private CachedMethod cached;
 
         public Object access(VirtualFrame frame, JavaObject object, String name, Object[] args) {
-            for (Method m : object.clazz.getMethods()) {
-                if (m.getName().equals(name)) {
-                    if (m.getParameterTypes().length == args.length || m.isVarArgs()) {
-                        if (doExecute == null || args.length != doExecute.numberOfArguments()) {
-                            CompilerDirectives.transferToInterpreterAndInvalidate();
-                            doExecute = insert(new DoExecuteNode(args.length));
-                        }
-                        return doExecute.execute(frame, m, object.obj, args);
-                    }
+            Method m;
+            CachedMethod c = cached;
+            DoExecuteNode execute = doExecute;
+            if (c != null && c.matches(object.clazz, name, args.length) && execute != null && args.length == execute.numberOfArguments()) {
+                m = c.method;
+            } else {
+                m = lookupMethod(object.clazz, name, args.length);
+                if (m == null) {
+                    throw UnknownIdentifierException.raise(name);
+                }
+                if (execute == null || args.length != execute.numberOfArguments()) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    execute = insert(new DoExecuteNode(args.length));
+                    doExecute = execute;
                 }
+                if (c == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    cached = new CachedMethod(object.clazz, name, args.length, m);
+                }
+            }
+            return execute.execute(frame, m, object.obj, args);
+        }
+
+        @TruffleBoundary
+        private static Method lookupMethod(Class<?> clazz, String name, int arity) {
+            return JavaClassDesc.forClass(clazz).lookupMethod(name, arity);
+        }
+
+        /**
+         * The method found for one receiver class, name and arity. It is published as a whole, so
+         * a concurrent reader never sees a matching key without its method.
+         */
+        private static final class CachedMethod {
+            final Class<?> clazz;
+            final String name;
+            final int arity;
+            final Method method;
+
+            CachedMethod(Class<?> clazz, String name, int arity, Method method) {
+                this.clazz = clazz;
+                this.name = name;
+                this.arity = arity;
+                this.method = method;
+            }
+
+            boolean matches(Class<?> otherClazz, String otherName, int otherArity) {
+                return clazz == otherClazz && arity == otherArity && name.equals(otherName);
             }
-            throw UnknownIdentifierException.raise(name);
         }
 
     }
@@ -157,25 +196,17 @@ class JavaObjectMessageResolution {
             try {
                 Object obj = object.obj;
                 final boolean onlyStatic = obj == null;
-                Object val;
-                try {
-                    final Field field = object.clazz.getField(name);
-                    final boolean isStatic = (field.getModifiers() & Modifier.STATIC) != 0;
-                    if (onlyStatic != isStatic) {
-                        throw new NoSuchFieldException();
-                    }
+                final JavaClassDesc desc = classDesc(object.clazz);
+                final Field field = desc.lookupField(name);
+                final Object val;
+                if (field != null && onlyStatic == ((field.getModifiers() & Modifier.STATIC) != 0)) {
                     val = field.get(obj);
-                } catch (NoSuchFieldException ex) {
-                    for (Method m : object.clazz.getMethods()) {
-                        final boolean isStatic = (m.getModifiers() & Modifier.STATIC) != 0;
-                        if (onlyStatic != isStatic) {
-                            continue;
-                        }
-                        if (m.getName().equals(name)) {
-                            return new JavaFunctionObject(m, obj);
-                        }
+                } else {
+                    final Method m = desc.lookupMethod(name, onlyStatic);
+                    if (m != null) {
+                        return new JavaFunctionObject(m, obj);
                     }
-                    throw (NoSuchFieldError) new NoSuchFieldError(ex.getMessage()).initCause(ex);
+                    throw new NoSuchFieldError(name);
                 }
                 if (ToJavaNode.isPrimitive(val)) {
                     return val;
@@ -186,6 +217,11 @@ class JavaObjectMessageResolution {
             }
         }
 
+        @TruffleBoundary
+        private static JavaClassDesc classDesc(Class<?> clazz) {
+            return JavaClassDesc.forClass(clazz);
+        }
+
     }
 
     @Resolve(message = "WRITE")
@@ -33,6 +33,8 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerAsserts;
@@ -131,31 +133,29 @@ final class ToJavaNode extends Node {
 
     private static final class SingleHandler implements InvocationHandler {
         private final TruffleObject symbol;
-        private CallTarget target;
+        private final MessageTargets targets;
 
         SingleHandler(TruffleObject obj) {
             this.symbol = obj;
+            this.targets = new MessageTargets(obj);
         }
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
             CompilerAsserts.neverPartOfCompilation();
             Object[] args = arguments == null ? EMPTY : arguments;
-            if (target == null) {
-                Node executeMain = Message.createExecute(args.length).createNode();
-                RootNode symbolNode = new TemporaryRoot(TruffleLanguage.class, executeMain, symbol);
-                target = Truffle.getRuntime().createCallTarget(symbolNode);
-            }
-            Object ret = target.call(args);
+            Object ret = targets.send(Message.createExecute(args.length), args);
             return toJava(ret, method);
         }
     }
 
     private static final class TruffleHandler implements InvocationHandler {
         private final TruffleObject obj;
+        private final MessageTargets targets;
 
         TruffleHandler(TruffleObject obj) {
             this.obj = obj;
+            this.targets = new MessageTargets(obj);
         }
 
         @Override
@@ -185,20 +185,20 @@ final class ToJavaNode extends Node {
                 if (args.length != 1) {
                     throw new IllegalStateException("Method needs to have a single argument to handle WRITE message " + method);
                 }
-                message(Message.WRITE, obj, name, args[0]);
+                targets.send(Message.WRITE, name, args[0]);
                 return null;
             }
             if (message == Message.HAS_SIZE || message == Message.IS_BOXED || message == Message.IS_EXECUTABLE || message == Message.IS_NULL || message == Message.GET_SIZE) {
-                return message(message, obj);
+                return targets.send(message);
             }
 
             if (message == Message.READ) {
-                val = message(Message.READ, obj, name);
+                val = targets.send(Message.READ, name);
                 return toJava(val, method);
             }
 
             if (message == Message.UNBOX) {
-                val = message(Message.UNBOX, obj);
+                val = targets.send(Message.UNBOX);
                 return toJava(val, method);
             }
 
@@ -206,7 +206,7 @@ final class ToJavaNode extends Node {
                 List<Object> copy = new ArrayList<>(args.length);
                 copy.addAll(Arrays.asList(args));
                 message = Message.createExecute(copy.size());
-                val = message(message, obj, copy.toArray());
+                val = targets.send(message, copy.toArray());
                 return toJava(val, method);
             }
 
@@ -215,13 +215,13 @@ final class ToJavaNode extends Node {
                 copy.add(name);
                 copy.addAll(Arrays.asList(args));
                 message = Message.createInvoke(args.length);
-                val = message(message, obj, copy.toArray());
+                val = targets.send(message, copy.toArray());
                 return toJava(val, method);
             }
 
             if (Message.createNew(0).equals(message)) {
                 message = Message.createNew(args.length);
-                val = message(message, obj, args);
+                val = targets.send(message, args);
                 return toJava(val, method);
             }
 
@@ -231,9 +231,9 @@ final class ToJavaNode extends Node {
                     List<Object> callArgs = new ArrayList<>(args.length);
                     callArgs.add(name);
                     callArgs.addAll(Arrays.asList(args));
-                    ret = message(Message.createInvoke(args.length), obj, callArgs.toArray());
+                    ret = targets.send(Message.createInvoke(args.length), callArgs.toArray());
                 } catch (InteropException ex) {
-                    val = message(Message.READ, obj, name);
+                    val = targets.send(Message.READ, name);
                     Object primitiveVal = toPrimitive(val, method.getReturnType());
                     if (primitiveVal != null) {
                         return primitiveVal;
@@ -256,6 +256,60 @@ final class ToJavaNode extends Node {
 
     }
 
+    /**
+     * Keeps one call target per {@link Message} and number of arguments sent to a single receiver,
+     * so a proxy that is asked repeatedly does not create a new AST and call target for every
+     * request. The number of arguments is part of the key, because {@link Message#createExecute(int)
+     * execute}, {@link Message#createInvoke(int) invoke} and {@link Message#createNew(int) new}
+     * messages are equal regardless of their arity, but their targets are created for one arity.
+     */
+    static final class MessageTargets {
+        private final TruffleObject receiver;
+        private final ConcurrentMap<MessageKey, CallTarget> targets = new ConcurrentHashMap<>();
+
+        MessageTargets(TruffleObject receiver) {
+            this.receiver = receiver;
+        }
+
+        @TruffleBoundary
+        Object send(Message m, Object... arr) throws InteropException {
+            MessageKey key = new MessageKey(m, arr.length);
+            CallTarget target = targets.get(key);
+            if (target == null) {
+                target = Truffle.getRuntime().createCallTarget(new TemporaryRoot(TruffleLanguage.class, m.createNode(), receiver));
+                CallTarget previous = targets.putIfAbsent(key, target);
+                if (previous != null) {
+                    target = previous;
+                }
+            }
+            return target.call(arr);
+        }
+    }
+
+    private static final class MessageKey {
+        private final Message message;
+        private final int argumentsLength;
+
+        MessageKey(Message message, int argumentsLength) {
+            this.message = message;
+            this.argumentsLength = argumentsLength;
+        }
+
+        @Override
+        public int hashCode() {
+            return message.hashCode() * 31 + argumentsLength;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MessageKey)) {
+                return false;
+            }
+            MessageKey other = (MessageKey) obj;
+            return argumentsLength == other.argumentsLength && message.equals(other.message);
+        }
+    }
+
     private static class TemporaryRoot extends RootNode {
         @Node.Child private Node foreignAccess;
         private final TruffleObject function;
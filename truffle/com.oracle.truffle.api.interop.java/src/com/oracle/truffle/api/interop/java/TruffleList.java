@@ -31,12 +31,12 @@ import java.util.AbstractList;
 import java.util.List;
 
 final class TruffleList<T> extends AbstractList<T> {
-    private final TruffleObject array;
     private final Class<T> type;
+    private final ToJavaNode.MessageTargets targets;
 
     private TruffleList(Class<T> elementType, TruffleObject array) {
-        this.array = array;
         this.type = elementType;
+        this.targets = new ToJavaNode.MessageTargets(array);
     }
 
     public static <T> List<T> create(Class<T> elementType, TruffleObject array) {
@@ -46,7 +46,7 @@ final class TruffleList<T> extends AbstractList<T> {
     @Override
     public T get(int index) {
         try {
-            return type.cast(ToJavaNode.message(Message.READ, array, index));
+            return type.cast(targets.send(Message.READ, index));
         } catch (InteropException e) {
             throw new IllegalStateException(e);
         }
@@ -56,7 +56,7 @@ final class TruffleList<T> extends AbstractList<T> {
     public T set(int index, T element) {
         T prev = get(index);
         try {
-            ToJavaNode.message(Message.WRITE, array, index, element);
+            targets.send(Message.WRITE, index, element);
         } catch (InteropException e) {
             throw new IllegalStateException(e);
         }
@@ -66,7 +66,7 @@ final class TruffleList<T> extends AbstractList<T> {
     @Override
     public int size() {
         try {
-            return (Integer) ToJavaNode.message(Message.GET_SIZE, array);
+            return (Integer) targets.send(Message.GET_SIZE);
         } catch (InteropException e) {
             throw new IllegalStateException(e);
         }
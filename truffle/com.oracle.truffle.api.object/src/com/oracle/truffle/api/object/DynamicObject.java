@@ -24,6 +24,8 @@
  */
 package com.oracle.truffle.api.object;
 
+import java.util.List;
+
 import com.oracle.truffle.api.TypedObject;
 import com.oracle.truffle.api.interop.TruffleObject;
 
@@ -34,6 +36,7 @@ import com.oracle.truffle.api.interop.TruffleObject;
  * @since 0.8 or earlier
  */
 public abstract class DynamicObject implements TypedObject, TruffleObject {
+    private static final Object MISSING = new Object();
 
     /**
      * Constructor for subclasses.
@@ -87,7 +90,8 @@ public abstract class DynamicObject implements TypedObject, TruffleObject {
      * @since 0.8 or earlier
      */
     public final boolean containsKey(Object key) {
-        return getShape().getProperty(key) != null;
+        Shape shape = getShape();
+        return shape.getProperty(key) != null || (shape.isDictionary() && get(key, MISSING) != MISSING);
     }
 
     /**
@@ -138,6 +142,17 @@ public abstract class DynamicObject implements TypedObject, TruffleObject {
      */
     public abstract int size();
 
+    /**
+     * Get a list of the keys of all non-hidden properties of this object in insertion order. Unlike
+     * {@link Shape#getKeyList()}, this also lists the keys of an object in
+     * {@link Shape#isDictionary() dictionary mode}.
+     *
+     * @since 0.16
+     */
+    public List<Object> getKeyList() {
+        return getShape().getKeyList();
+    }
+
     /**
      * Returns {@code true} if this object contains no properties.
      * 
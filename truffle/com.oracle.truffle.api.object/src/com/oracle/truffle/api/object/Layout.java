@@ -173,6 +173,7 @@ public abstract class Layout {
     public static final class Builder {
         private EnumSet<ImplicitCast> allowedImplicitCasts;
         private boolean polymorphicUnboxing;
+        private boolean dictionaryMode;
 
         /**
          * Create a new layout builder.
@@ -221,6 +222,18 @@ public abstract class Layout {
             this.polymorphicUnboxing = polymorphicUnboxing;
             return this;
         }
+
+        /**
+         * If {@code true}, objects that get too many properties switch to dictionary mode and keep
+         * their properties in a hash table instead of the shape. Disabled by default.
+         *
+         * @see Shape#isDictionary()
+         * @since 0.16
+         */
+        public Builder setDictionaryMode(boolean dictionaryMode) {
+            this.dictionaryMode = dictionaryMode;
+            return this;
+        }
     }
 
     /** @since 0.8 or earlier */
@@ -232,4 +245,9 @@ public abstract class Layout {
     protected static boolean getPolymorphicUnboxing(Builder builder) {
         return builder.polymorphicUnboxing;
     }
+
+    /** @since 0.16 */
+    protected static boolean getDictionaryMode(Builder builder) {
+        return builder.dictionaryMode;
+    }
 }
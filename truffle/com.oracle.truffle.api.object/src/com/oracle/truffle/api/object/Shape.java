@@ -165,6 +165,23 @@ public abstract class Shape {
      */
     public abstract boolean isLeaf();
 
+    /**
+     * Check whether objects of this shape are in dictionary mode, i.e. keep their properties in a
+     * hash table instead of describing each of them in the shape. Objects of layouts built with
+     * {@link Layout.Builder#setDictionaryMode(boolean)} switch to dictionary mode when they get too
+     * many properties. Their properties can only be accessed through the {@link DynamicObject}
+     * methods, so property caches should guard on this flag and fall back to
+     * {@link DynamicObject#get(Object, Object)} and {@link DynamicObject#define(Object, Object)}.
+     * {@link #getProperty(Object)}, {@link #getKeyList()}, {@link #getPropertyList()} and
+     * {@link #getPropertyCount()} do not describe these properties; use
+     * {@link DynamicObject#getKeyList()} and {@link DynamicObject#size()} instead.
+     *
+     * @since 0.16
+     */
+    public boolean isDictionary() {
+        return false;
+    }
+
     /**
      * @return the parent shape or {@code null} if none.
      * @since 0.8 or earlier
@@ -181,4 +181,70 @@ public class FrameTest {
         Object ret = Truffle.getRuntime().createCallTarget(frn).call();
         assertEquals("Returns itself", frn, ret);
     }
+
+    @Test
+    public void primitiveValuesSurviveResizeAndMaterialization() throws FrameSlotTypeException {
+        FrameDescriptor fd = new FrameDescriptor();
+        FrameSlot l = fd.addFrameSlot("l", FrameSlotKind.Long);
+        FrameSlot d = fd.addFrameSlot("d", FrameSlotKind.Double);
+        FrameSlot b = fd.addFrameSlot("b", FrameSlotKind.Boolean);
+        VirtualFrame frame = Truffle.getRuntime().createVirtualFrame(new Object[0], fd);
+        frame.setLong(l, Long.MIN_VALUE);
+        frame.setDouble(d, -0.5d);
+        frame.setBoolean(b, true);
+
+        FrameSlot f = fd.addFrameSlot("f", FrameSlotKind.Float);
+        FrameSlot i = fd.addFrameSlot("i", FrameSlotKind.Int);
+        FrameSlot y = fd.addFrameSlot("y", FrameSlotKind.Byte);
+        FrameSlot o = fd.addFrameSlot("o", FrameSlotKind.Object);
+        assertEquals("Resized slot has default value", null, frame.getValue(o));
+        frame.setFloat(f, 1.5f);
+        frame.setInt(i, -42);
+        frame.setByte(y, (byte) -1);
+        frame.setObject(o, "value");
+
+        MaterializedFrame materialized = frame.materialize();
+        assertEquals(Long.MIN_VALUE, materialized.getLong(l));
+        assertEquals(-0.5d, materialized.getDouble(d), 0d);
+        assertTrue(materialized.getBoolean(b));
+        assertEquals(1.5f, materialized.getFloat(f), 0f);
+        assertEquals(-42, materialized.getInt(i));
+        assertEquals((byte) -1, materialized.getByte(y));
+        assertEquals("value", materialized.getObject(o));
+
+        assertEquals(Long.MIN_VALUE, frame.getValue(l));
+        assertEquals(-0.5d, frame.getValue(d));
+        assertEquals(true, frame.getValue(b));
+        assertEquals(1.5f, frame.getValue(f));
+        assertEquals(-42, frame.getValue(i));
+        assertEquals((byte) -1, frame.getValue(y));
+        assertEquals("value", frame.getValue(o));
+
+        frame.setObject(l, "object");
+        assertTrue(frame.isObject(l));
+        assertEquals("object", frame.getValue(l));
+        frame.setLong(o, 7L);
+        assertTrue(frame.isLong(o));
+        assertEquals(7L, frame.getValue(o));
+        try {
+            frame.getObject(o);
+            Assert.fail("Long slot cannot be read as object");
+        } catch (FrameSlotTypeException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void unusedSlotsHaveDefaultValue() throws FrameSlotTypeException {
+        Object defaultValue = "default";
+        FrameDescriptor fd = new FrameDescriptor(defaultValue);
+        FrameSlot first = fd.addFrameSlot("first");
+        FrameSlot second = fd.addFrameSlot("second");
+        VirtualFrame frame = Truffle.getRuntime().createVirtualFrame(new Object[]{42}, fd);
+        assertEquals(42, frame.getArguments()[0]);
+        assertEquals(defaultValue, frame.getValue(second));
+        assertEquals(defaultValue, frame.getObject(first));
+        FrameSlot third = fd.addFrameSlot("third");
+        assertEquals(defaultValue, frame.getValue(third));
+    }
 }
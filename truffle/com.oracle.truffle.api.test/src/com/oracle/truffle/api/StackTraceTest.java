@@ -140,6 +140,50 @@ public class StackTraceTest {
         Assert.assertSame(findCallNode(direct), stack.frames.get(3).getCallNode());
     }
 
+    @Test
+    public void testDeepStackTrace() {
+        CallTarget createStackTrace = createCallTarget(new ReturnStackTraceNode());
+        List<CallTarget> callers = new ArrayList<>();
+        CallTarget next = createStackTrace;
+        for (int i = 0; i < 100; i++) {
+            next = createCallTarget(i % 2 == 0 ? new TestCallWithDirectTargetNode(next) : new TestCallWithIndirectTargetNode(next));
+            callers.add(next);
+        }
+        StackTrace stack = (StackTrace) next.call();
+
+        assertInvariants(stack);
+        Assert.assertEquals(101, stack.frames.size());
+        Assert.assertSame(createStackTrace, stack.currentFrame.getCallTarget());
+        Assert.assertNull(stack.currentFrame.getCallNode());
+        for (int i = 0; i < callers.size(); i++) {
+            Assert.assertSame(callers.get(i), stack.frames.get(i + 1).getCallTarget());
+            Assert.assertSame(findCallNode(callers.get(i)), stack.frames.get(i + 1).getCallNode());
+        }
+        Assert.assertNull(Truffle.getRuntime().getCurrentFrame());
+    }
+
+    @Test
+    public void testStackTraceAfterException() {
+        CallTarget fail = createCallTarget(new TestCallNode(null) {
+            @Override
+            Object execute(VirtualFrame frame) {
+                throw new IllegalStateException();
+            }
+        });
+        CallTarget direct = createCallTarget(new TestCallWithDirectTargetNode(fail));
+        try {
+            direct.call();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+        }
+        Assert.assertNull(Truffle.getRuntime().getCurrentFrame());
+
+        CallTarget createStackTrace = createCallTarget(new ReturnStackTraceNode());
+        StackTrace stack = (StackTrace) createCallTarget(new TestCallWithDirectTargetNode(createStackTrace)).call();
+        assertInvariants(stack);
+        Assert.assertEquals(2, stack.frames.size());
+    }
+
     @Test
     public void testFrameAccess() {
         CallTarget callTarget = createCallTarget(new TestCallWithCallTargetNode(null));
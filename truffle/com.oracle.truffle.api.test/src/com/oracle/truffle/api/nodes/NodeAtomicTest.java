@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.nodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class NodeAtomicTest {
+
+    @Test
+    public void testDetachedTreesDoNotShareLock() throws InterruptedException {
+        TestNode a = createTree();
+        TestNode b = createTree();
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = holdAtomic(a, release);
+        try {
+            CountDownLatch done = new CountDownLatch(1);
+            runAtomic(b, done);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    public void testSameTreeIsLocked() throws InterruptedException {
+        TestNode a = createTree();
+        TestNode sibling = (TestNode) a.getParent().getChildren().iterator().next();
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = holdAtomic(a, release);
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            runAtomic(sibling, done);
+            assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testReplaceInDetachedTree() {
+        TestNode a = createTree();
+        Node block = a.getParent();
+        TestNode replacement = a.replace(new TestNode());
+        assertEquals(block, replacement.getParent());
+        assertNull(block.getRootNode());
+    }
+
+    private static TestNode createTree() {
+        TestNode child = new TestNode();
+        Block block = new Block(new TestNode[]{new TestNode(), child});
+        block.adoptChildren();
+        return child;
+    }
+
+    private static Thread holdAtomic(final Node node, final CountDownLatch release) throws InterruptedException {
+        final CountDownLatch entered = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                node.atomic(new Runnable() {
+                    public void run() {
+                        entered.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                });
+            }
+        });
+        thread.start();
+        entered.await();
+        return thread;
+    }
+
+    private static void runAtomic(final Node node, final CountDownLatch done) {
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                node.atomic(new Runnable() {
+                    public void run() {
+                        done.countDown();
+                    }
+                });
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    static class Block extends Node {
+
+        @Children final TestNode[] children;
+
+        Block(TestNode[] children) {
+            this.children = children;
+        }
+
+    }
+
+    static class TestNode extends Node {
+
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.source;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class EncodedTextTest {
+
+    private static final String TEXT = "ascii line\n" + //
+                    "été 日本語\n" + //
+                    "\n" + //
+                    "pair 😀 end\n" + //
+                    "last line without newline";
+
+    @Test
+    public void fileSource() throws IOException {
+        File file = File.createTempFile("EncodedTextTest", ".txt");
+        file.deleteOnExit();
+        try (FileOutputStream os = new FileOutputStream(file)) {
+            os.write(TEXT.getBytes(StandardCharsets.UTF_8));
+        }
+        assertSameText(TEXT, Source.newBuilder(file).name("file").mimeType("text/plain").build());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void bytesSource() {
+        for (Charset charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.UTF_16, Charset.forName("GB18030")}) {
+            byte[] bytes = ("xx" + TEXT + "\n").getBytes(charset);
+            Source source = Source.fromBytes(bytes, 0, bytes.length, "bytes", charset);
+            assertSameText("xx" + TEXT + "\n", source);
+        }
+        byte[] latin = "café\nnaïve".getBytes(StandardCharsets.ISO_8859_1);
+        assertSameText("café\nnaïve", Source.fromBytes(latin, "latin", StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void malformedBytesSource() {
+        byte[] bytes = {'a', '\n', (byte) 0xc3, '\n', 'b'};
+        Source source = Source.fromBytes(bytes, "malformed", StandardCharsets.UTF_8);
+        assertEquals(0, source.getLineCount());
+        assertEquals("", source.getCode());
+    }
+
+    private static void assertSameText(String expected, Source source) {
+        Source reference = Source.newBuilder(expected).name("reference").mimeType("text/plain").build();
+        assertEquals(reference.getLength(), source.getLength());
+        assertEquals(reference.getLineCount(), source.getLineCount());
+        for (int line = 1; line <= reference.getLineCount(); line++) {
+            assertEquals(reference.getCode(line), source.getCode(line));
+            assertEquals(reference.getLineStartOffset(line), source.getLineStartOffset(line));
+            assertEquals(reference.getLineLength(line), source.getLineLength(line));
+        }
+        for (int start = 0; start < expected.length(); start += 3) {
+            for (int length = 0; start + length <= expected.length(); length += 5) {
+                assertEquals(expected.substring(start, start + length), source.createSection(null, start, length).getCode());
+            }
+            assertEquals(reference.getLineNumber(start), source.getLineNumber(start));
+            assertEquals(reference.getColumnNumber(start), source.getColumnNumber(start));
+        }
+        assertEquals(expected, source.getCode());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.source;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TextMapTest {
+
+    @Test
+    public void testLinesAndColumns() {
+        TextMap map = TextMap.fromString("01234\n67\n9\n\nc");
+        assertEquals(5, map.lineCount());
+        int[] lines = {1, 1, 1, 1, 1, 1, 2, 2, 2, 3, 3, 4, 5};
+        int[] columns = {1, 2, 3, 4, 5, 6, 1, 2, 3, 1, 2, 1, 1};
+        for (int offset = 0; offset < lines.length; offset++) {
+            assertEquals(lines[offset], map.offsetToLine(offset));
+            assertEquals(columns[offset], map.offsetToCol(offset));
+        }
+        // backwards, so that the cached line never matches
+        for (int offset = lines.length - 1; offset >= 0; offset--) {
+            assertEquals(lines[offset], map.offsetToLine(offset));
+            assertEquals(columns[offset], map.offsetToCol(offset));
+        }
+    }
+
+    @Test
+    public void testFinalNewline() {
+        TextMap map = TextMap.fromString("a\nb\n");
+        assertEquals(2, map.lineCount());
+        assertEquals(2, map.offsetToLine(3));
+        assertEquals(2, map.offsetToCol(3));
+        assertEquals(1, map.lineLength(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOffsetOutOfBounds() {
+        TextMap.fromString("a\nb\n").offsetToLine(4);
+    }
+
+    @Test
+    public void testRandomText() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append(random.nextInt(10) == 0 ? '\n' : 'x');
+        }
+        String text = sb.toString();
+        TextMap map = TextMap.fromString(text);
+        int[] expectedLines = new int[text.length()];
+        int[] expectedColumns = new int[text.length()];
+        int line = 1;
+        int column = 1;
+        for (int i = 0; i < text.length(); i++) {
+            expectedLines[i] = line;
+            expectedColumns[i] = column++;
+            if (text.charAt(i) == '\n') {
+                line++;
+                column = 1;
+            }
+        }
+        assertEquals(text.endsWith("\n") ? line - 1 : line, map.lineCount());
+        for (int i = 0; i < 50000; i++) {
+            int offset = random.nextInt(text.length());
+            assertEquals(expectedLines[offset], map.offsetToLine(offset));
+            assertEquals(expectedColumns[offset], map.offsetToCol(offset));
+        }
+        for (int l = 1; l <= map.lineCount(); l++) {
+            int start = map.lineStartOffset(l);
+            assertEquals(l, map.offsetToLine(start));
+            assertEquals(1, map.offsetToCol(start));
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class WeakRegistryTest {
+
+    @Test
+    public void findReturnsNewestLiveValue() {
+        WeakRegistry<String, Object> registry = new WeakRegistry<>();
+        Object first = new Object();
+        Object second = new Object();
+        registry.register("a", first);
+        registry.register("a", second);
+        registry.register(null, first);
+        assertSame(second, registry.find("a"));
+        assertSame(first, registry.find(null));
+        assertNull(registry.find("b"));
+    }
+
+    @Test
+    public void collectedValuesArePurged() throws Exception {
+        final WeakRegistry<String, Source> registry = new WeakRegistry<>();
+        final int threads = 4;
+        final int valuesPerThread = 500000;
+        final List<List<Source>> kept = new ArrayList<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final List<Source> keptByThread = new ArrayList<>();
+            kept.add(keptByThread);
+            workers[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < valuesPerThread; i++) {
+                            String key = "key" + (i % 1000);
+                            Source value = Source.newBuilder(key).name(key).mimeType("text/plain").build();
+                            registry.register(key, value);
+                            if (i % 10000 == 0) {
+                                keptByThread.add(value);
+                            }
+                            if (registry.find(key) == null) {
+                                // the use of value keeps it reachable during find
+                                throw new AssertionError("Value just registered not found: " + value.getName());
+                            }
+                        }
+                    } catch (Throwable ex) {
+                        failure.set(ex);
+                    }
+                }
+            };
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertNull(failure.get());
+
+        int expected = threads * valuesPerThread / 10000;
+        int size = Integer.MAX_VALUE;
+        for (int i = 0; i < 50 && size > expected; i++) {
+            System.gc();
+            Thread.sleep(20);
+            size = registry.size();
+        }
+        assertEquals("Only entries of reachable values remain", expected, size);
+        // keeps the sampled values reachable until here
+        assertEquals(threads, kept.size());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void findSourceByName() {
+        Source older = Source.newBuilder("1").name("WeakRegistryTest.sl").mimeType("text/plain").build();
+        assertSame(older, Source.find("WeakRegistryTest.sl"));
+        Source newer = Source.newBuilder("2").name("WeakRegistryTest.sl").mimeType("text/plain").build();
+        assertSame(newer, Source.find("WeakRegistryTest.sl"));
+        assertNull(Source.find("WeakRegistryTest.unknown"));
+    }
+}
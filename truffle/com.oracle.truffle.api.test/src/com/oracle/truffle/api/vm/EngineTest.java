@@ -136,6 +136,29 @@ public class EngineTest {
         assertNotEquals("Two executions in different engines don't share the nodes", hashIn2Round2, hashIn1Round2);
     }
 
+    @Test
+    public void shareCodeWithTemplate() throws IOException {
+        PolyglotEngine template = createBuilder().build();
+        register(template);
+        PolyglotEngine vm = createBuilder().shareCodeWith(template).build();
+        register(vm);
+
+        PolyglotEngine.Language language1 = template.getLanguages().get("application/x-test-hash");
+        PolyglotEngine.Language language2 = vm.getLanguages().get("application/x-test-hash");
+        PolyglotEngine.Language alt1 = template.getLanguages().get("application/x-test-hash-alt");
+        PolyglotEngine.Language alt2 = vm.getLanguages().get("application/x-test-hash-alt");
+        final Source sharedSource = Source.newBuilder("anything").name("something").mimeType("content/unknown").build();
+
+        Object hashIn1 = language1.eval(sharedSource).get();
+        Object hashIn2 = language2.eval(sharedSource).get();
+        Object altIn1 = alt1.eval(sharedSource).get();
+        Object altIn2 = alt2.eval(sharedSource).get();
+
+        assertEquals("Engine built from a template shares the nodes", hashIn1, hashIn2);
+        assertEquals("Engine built from a template shares the alternative nodes", altIn1, altIn2);
+        assertNotEquals("Two executions in different languages don't share the nodes", hashIn1, altIn2);
+    }
+
     protected Thread forbiddenThread() {
         return null;
     }
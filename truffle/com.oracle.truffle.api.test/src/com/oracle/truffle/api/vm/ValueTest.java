@@ -30,17 +30,31 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.Test;
 
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.Source;
 import org.junit.After;
 
 public class ValueTest implements Executor {
     private final List<Runnable> pending = new LinkedList<>();
+    private boolean rejecting;
     private PolyglotEngine engine;
 
     @After
@@ -125,14 +139,171 @@ public class ValueTest implements Executor {
         assertTrue("Error " + textual, textual.contains("exception=java.io.IOException: does not work"));
     }
 
+    @Test
+    public void evalAsyncNotifiesCallback() throws Exception {
+        engine = PolyglotEngine.newBuilder().executor(this).build();
+        List<Object> results = new ArrayList<>();
+        engine.evalAsync(Source.newBuilder("explicit.value=42").name("define 42").mimeType("application/x-test-import-export-2").build(), null);
+        Future<PolyglotEngine.Value> future = engine.evalAsync(Source.newBuilder("return=value").name("42.value").mimeType("application/x-test-import-export-1").build(), new Collect(results));
+
+        assertFalse("Not computed yet", future.isDone());
+        assertTrue("No callback yet", results.isEmpty());
+
+        flush();
+
+        assertTrue("Computed", future.isDone());
+        assertEquals(Arrays.asList((Object) "42"), results);
+        assertEquals("42", future.get().get());
+    }
+
+    @Test
+    public void evalAsyncReportsFailure() throws Exception {
+        engine = PolyglotEngine.newBuilder().executor(this).build();
+        List<Object> results = new ArrayList<>();
+        Future<PolyglotEngine.Value> future = engine.evalAsync(Source.newBuilder("parse=does not work").name("error.value").mimeType("application/x-test-import-export-1").build(),
+                        new Collect(results));
+        flush();
+
+        assertEquals("One result", 1, results.size());
+        assertTrue("Failure reported: " + results, results.get(0) instanceof IOException);
+        try {
+            future.get();
+            fail("Should throw an exception");
+        } catch (ExecutionException ex) {
+            assertTrue("Message contains the right text: " + ex.getCause(), ex.getCause().getMessage().contains("does not work"));
+        }
+    }
+
+    @Test
+    public void evalAsyncWithoutExecutor() throws Exception {
+        engine = PolyglotEngine.newBuilder().build();
+        List<Object> results = new ArrayList<>();
+        engine.evalAsync(Source.newBuilder("explicit.value=42").name("define 42").mimeType("application/x-test-import-export-2").build(), null);
+        Future<PolyglotEngine.Value> future = engine.evalAsync(Source.newBuilder("return=value").name("42.value").mimeType("application/x-test-import-export-1").build(), new Collect(results));
+
+        assertTrue("Computed immediately", future.isDone());
+        assertEquals(Arrays.asList((Object) "42"), results);
+    }
+
+    @Test
+    public void asyncRequestsAreSubmittedOneByOne() throws Exception {
+        engine = PolyglotEngine.newBuilder().executor(this).build();
+        List<Object> results = new ArrayList<>();
+        Future<PolyglotEngine.Value> define = engine.evalAsync(Source.newBuilder("explicit.value=42").name("define 42").mimeType("application/x-test-import-export-2").build(), null);
+        Future<PolyglotEngine.Value> future = engine.evalAsync(Source.newBuilder("return=value").name("42.value").mimeType("application/x-test-import-export-1").build(), new Collect(results));
+
+        assertEquals("Only the first request is submitted", 1, pending.size());
+        pending.remove(0).run();
+        assertTrue("First request computed", define.isDone());
+        assertFalse("Second request not computed yet", future.isDone());
+
+        assertEquals("Second request submitted after the first one", 1, pending.size());
+        pending.remove(0).run();
+        assertTrue("Second request computed", future.isDone());
+        assertEquals(Arrays.asList((Object) "42"), results);
+        assertTrue("Nothing else submitted", pending.isEmpty());
+    }
+
+    @Test
+    public void rejectedRequestIsReportedAndNextOneRuns() throws Exception {
+        engine = PolyglotEngine.newBuilder().executor(this).build();
+        List<Object> results = new ArrayList<>();
+        rejecting = true;
+        Future<PolyglotEngine.Value> rejected = engine.evalAsync(Source.newBuilder("explicit.value=42").name("define 42").mimeType("application/x-test-import-export-2").build(),
+                        new Collect(results));
+        rejecting = false;
+
+        assertTrue("Rejected request is done", rejected.isDone());
+        assertEquals("One result", 1, results.size());
+        assertTrue("Rejection reported: " + results, results.get(0) instanceof RejectedExecutionException);
+        try {
+            rejected.get();
+            fail("Should throw an exception");
+        } catch (ExecutionException ex) {
+            assertTrue("Rejection is the cause: " + ex.getCause(), ex.getCause() instanceof RejectedExecutionException);
+        }
+
+        engine.evalAsync(Source.newBuilder("explicit.value=42").name("define 42").mimeType("application/x-test-import-export-2").build(), null);
+        assertEquals("Next request is submitted", 1, pending.size());
+        flush();
+    }
+
+    @Test
+    public void errorIsReportedAsFailure() throws Exception {
+        engine = PolyglotEngine.newBuilder().executor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }).globalSymbol("overflow", new OverflowObject()).build();
+        List<Object> results = new ArrayList<>();
+        Future<PolyglotEngine.Value> future = engine.findGlobalSymbol("overflow").executeAsync(new Collect(results));
+
+        assertEquals("One result", 1, results.size());
+        assertTrue("Error reported as failure: " + results, results.get(0) instanceof StackOverflowError);
+        try {
+            future.get();
+            fail("Should throw an exception");
+        } catch (ExecutionException ex) {
+            assertTrue("Error is the cause: " + ex.getCause(), ex.getCause() instanceof StackOverflowError);
+        }
+    }
+
+    private static final class OverflowObject implements TruffleObject, ForeignAccess.Factory {
+        @Override
+        public ForeignAccess getForeignAccess() {
+            return ForeignAccess.create(this);
+        }
+
+        @Override
+        public boolean canHandle(TruffleObject obj) {
+            return obj instanceof OverflowObject;
+        }
+
+        @Override
+        public CallTarget accessMessage(Message tree) {
+            return Truffle.getRuntime().createCallTarget(new RootNode(TruffleLanguage.class, null, null) {
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    throw new StackOverflowError();
+                }
+            });
+        }
+    }
+
+    private static final class Collect implements PolyglotEngine.Callback {
+        private final List<Object> results;
+
+        Collect(List<Object> results) {
+            this.results = results;
+        }
+
+        @Override
+        public void done(PolyglotEngine.Value value) {
+            try {
+                results.add(value.get());
+            } catch (IOException ex) {
+                results.add(ex);
+            }
+        }
+
+        @Override
+        public void failed(Throwable error) {
+            results.add(error);
+        }
+    }
+
     @Override
     public void execute(Runnable command) {
+        if (rejecting) {
+            throw new RejectedExecutionException();
+        }
         pending.add(command);
     }
 
     private void flush() {
-        for (Runnable r : pending) {
-            r.run();
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
         }
     }
 }
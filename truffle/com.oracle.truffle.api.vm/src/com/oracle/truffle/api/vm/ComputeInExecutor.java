@@ -35,7 +35,7 @@ abstract class ComputeInExecutor<R> implements Runnable {
     private R result;
     private Throwable exception;
     private boolean started;
-    private boolean done;
+    private volatile boolean done;
 
     protected ComputeInExecutor(Executor executor) {
         this.executor = executor;
@@ -52,16 +52,54 @@ abstract class ComputeInExecutor<R> implements Runnable {
         return result;
     }
 
+    /**
+     * Called once the computation is over, in the thread that performed it. The result is
+     * available via {@link #get()} without waiting.
+     */
+    protected void done() {
+    }
+
+    public final boolean isDone() {
+        return done;
+    }
+
     private void waitForDone() throws InterruptedIOException {
+        try {
+            waitForDone(0L);
+        } catch (InterruptedException ex) {
+            throw new InterruptedIOException(ex.getMessage());
+        }
+    }
+
+    /**
+     * Waits for the computation to finish.
+     *
+     * @param millis maximal time to wait or <code>0</code> to wait forever
+     * @return <code>true</code> if the computation is done
+     */
+    final boolean waitForDone(long millis) throws InterruptedException {
+        if (done) {
+            return true;
+        }
+        final long deadline = System.currentTimeMillis() + millis;
         synchronized (this) {
             while (!done) {
-                try {
+                if (millis == 0L) {
                     wait();
-                } catch (InterruptedException ex) {
-                    throw new InterruptedIOException(ex.getMessage());
+                } else {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0L) {
+                        return false;
+                    }
+                    wait(remaining);
                 }
             }
         }
+        return true;
+    }
+
+    final Throwable getException() {
+        return exception;
     }
 
     private void exceptionCheck() throws IOException, RuntimeException {
@@ -74,6 +112,9 @@ abstract class ComputeInExecutor<R> implements Runnable {
         if (exception instanceof RuntimeException) {
             throw (RuntimeException) exception;
         }
+        if (exception instanceof Error) {
+            throw (Error) exception;
+        }
         if (exception != null) {
             throw new RuntimeException(exception);
         }
@@ -87,7 +128,15 @@ abstract class ComputeInExecutor<R> implements Runnable {
         if (executor == null) {
             run();
         } else {
-            executor.execute(this);
+            try {
+                executor.execute(this);
+            } catch (RuntimeException ex) {
+                if (!done) {
+                    // the computation never runs, e.g. the executor rejected it
+                    exception = ex;
+                    finish();
+                }
+            }
         }
         exceptionCheck();
     }
@@ -96,18 +145,23 @@ abstract class ComputeInExecutor<R> implements Runnable {
     public final void run() {
         try {
             result = compute();
-        } catch (Exception ex) {
+        } catch (Throwable ex) {
             exception = ex;
         } finally {
-            if (executor != null) {
-                synchronized (this) {
-                    done = true;
-                    notifyAll();
-                }
-            } else {
+            finish();
+        }
+    }
+
+    private void finish() {
+        if (executor != null) {
+            synchronized (this) {
                 done = true;
+                notifyAll();
             }
+        } else {
+            done = true;
         }
+        done();
     }
 
     @Override
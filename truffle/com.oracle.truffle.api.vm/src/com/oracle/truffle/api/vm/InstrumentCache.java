@@ -35,8 +35,10 @@ import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.logging.Level;
 
 //TODO (chumer): maybe this class should share some code with LanguageCache?
@@ -44,8 +46,10 @@ final class InstrumentCache {
 
     static final boolean PRELOAD;
     private static final List<InstrumentCache> CACHE;
+    private static final Map<ClassLoader, List<InstrumentCache>> DISCOVERED = new WeakHashMap<>();
+    private static volatile List<InstrumentCache> discoveredDefault;
 
-    private Class<?> instrumentClass;
+    private volatile Class<?> instrumentClass;
     private final String className;
     private final String id;
     private final String name;
@@ -54,7 +58,7 @@ final class InstrumentCache {
     static {
         List<InstrumentCache> instruments = null;
         if (Boolean.getBoolean("com.oracle.truffle.aot")) { // NOI18N
-            instruments = load(null);
+            instruments = discover(loader());
             for (InstrumentCache info : instruments) {
                 info.loadClass();
             }
@@ -93,7 +97,24 @@ final class InstrumentCache {
         if (PRELOAD) {
             return CACHE;
         }
-        ClassLoader loader = customLoader == null ? loader() : customLoader;
+        if (customLoader == null) {
+            List<InstrumentCache> list = discoveredDefault;
+            if (list == null) {
+                list = discoveredDefault = Collections.unmodifiableList(discover(loader()));
+            }
+            return list;
+        }
+        synchronized (DISCOVERED) {
+            List<InstrumentCache> list = DISCOVERED.get(customLoader);
+            if (list == null) {
+                list = Collections.unmodifiableList(discover(customLoader));
+                DISCOVERED.put(customLoader, list);
+            }
+            return list;
+        }
+    }
+
+    private static List<InstrumentCache> discover(ClassLoader loader) {
         List<InstrumentCache> list = new ArrayList<>();
         Set<String> classNamesUsed = new HashSet<>();
         Enumeration<URL> en;
@@ -48,7 +48,8 @@ import com.oracle.truffle.api.TruffleOptions;
 final class LanguageCache {
     private static final boolean PRELOAD;
     private static final Map<String, LanguageCache> CACHE;
-    private TruffleLanguage<?> language;
+    private static volatile Map<String, LanguageCache> discovered;
+    private volatile TruffleLanguage<?> language;
     private final String className;
     private final Set<String> mimeTypes;
     private final String name;
@@ -109,7 +110,11 @@ final class LanguageCache {
         if (PRELOAD) {
             return CACHE;
         }
-        return createLanguages(loader());
+        Map<String, LanguageCache> map = discovered;
+        if (map == null) {
+            map = discovered = Collections.unmodifiableMap(createLanguages(loader()));
+        }
+        return map;
     }
 
     private static Map<String, LanguageCache> createLanguages(ClassLoader loader) {
@@ -162,7 +167,7 @@ final class LanguageCache {
         if (PRELOAD) {
             return language;
         }
-        if (create) {
+        if (create && language == null) {
             createLanguage(loader());
         }
         return language;
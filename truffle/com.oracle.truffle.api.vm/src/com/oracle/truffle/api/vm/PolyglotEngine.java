@@ -27,6 +27,7 @@ package com.oracle.truffle.api.vm;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,9 +37,14 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -106,7 +112,10 @@ import com.oracle.truffle.api.source.Source;
  * The engine is single-threaded and tries to enforce that. It records the thread it has been
  * {@link Builder#build() created} by and checks that all subsequent calls are coming from the same
  * thread. There is 1:1 mapping between {@link PolyglotEngine} and a thread that can tell it what to
- * do.
+ * do. The only exception are the {@link #evalAsync(Source, Callback) asynchronous requests} of an
+ * engine with an {@link Builder#executor(java.util.concurrent.Executor) executor}: they can be
+ * issued from any thread, as they only enqueue work for the executor. The engine hands these
+ * requests to the executor one by one, in the order they were issued.
  *
  * @since 0.9
  */
@@ -117,6 +126,8 @@ public class PolyglotEngine {
     private static final SPIAccessor SPI = new SPIAccessor();
     private final Thread initThread;
     private final Executor executor;
+    private final Queue<AsyncCompute> asyncQueue = new ArrayDeque<>();
+    private boolean asyncRunning;
     private final Map<String, Language> langs;
     private final InputStream in;
     private final OutputStream err;
@@ -166,7 +177,7 @@ public class PolyglotEngine {
     /**
      * Real constructor used from the builder.
      */
-    PolyglotEngine(Executor executor, Map<String, Object> globals, OutputStream out, OutputStream err, InputStream in, EventConsumer<?>[] handlers, List<Object[]> config) {
+    PolyglotEngine(Executor executor, Map<String, Object> globals, OutputStream out, OutputStream err, InputStream in, EventConsumer<?>[] handlers, List<Object[]> config, PolyglotEngine template) {
         assertNoTruffle();
         this.executor = executor;
         this.out = out;
@@ -184,7 +195,14 @@ public class PolyglotEngine {
         /* We want to create a language instance but per LanguageCache and not per mime type. */
         Set<LanguageCache> uniqueCaches = new HashSet<>(LanguageCache.languages().values());
         for (LanguageCache languageCache : uniqueCaches) {
-            Language newLanguage = new Language(languageCache);
+            Map<Source, CallTarget> code = null;
+            if (template != null) {
+                Language shared = template.langs.get(languageCache.getMimeTypes().iterator().next());
+                if (shared != null && shared.info == languageCache) {
+                    code = shared.cache;
+                }
+            }
+            Language newLanguage = new Language(languageCache, code);
             for (String mimeType : newLanguage.getMimeTypes()) {
                 map.put(mimeType, newLanguage);
             }
@@ -262,6 +280,7 @@ public class PolyglotEngine {
         private final Map<String, Object> globals = new HashMap<>();
         private Executor executor;
         private List<Object[]> arguments;
+        private PolyglotEngine template;
 
         Builder() {
         }
@@ -403,6 +422,26 @@ public class PolyglotEngine {
             return this;
         }
 
+        /**
+         * Shares parsed code with another engine. Sources {@link PolyglotEngine#eval(Source)
+         * evaluated} by any of the engines that share code are parsed only once; the other engines
+         * reuse the parsed {@link CallTarget call targets} for {@link Source#equals(Object) equal}
+         * sources. Each engine still has its own language contexts, global symbols and
+         * configuration. Use one engine as a template and build the others with this method to
+         * avoid paying the parsing cost for common sources again and again.
+         * <p>
+         * Sharing code is only correct for languages whose parsed code does not depend on the
+         * context it has been parsed in. The engines sharing code should not enable instruments.
+         *
+         * @param templateEngine the engine to share code with
+         * @return instance of this builder
+         * @since 0.16
+         */
+        public Builder shareCodeWith(PolyglotEngine templateEngine) {
+            this.template = templateEngine;
+            return this;
+        }
+
         /**
          * Creates the {@link PolyglotEngine Truffle virtual machine}. The configuration is taken
          * from values passed into configuration methods in this class.
@@ -421,7 +460,7 @@ public class PolyglotEngine {
             if (in == null) {
                 in = System.in;
             }
-            return new PolyglotEngine(executor, globals, out, err, in, handlers.toArray(new EventConsumer[0]), arguments);
+            return new PolyglotEngine(executor, globals, out, err, in, handlers.toArray(new EventConsumer[0]), arguments, template);
         }
     }
 
@@ -469,6 +508,44 @@ public class PolyglotEngine {
         return eval(l, source);
     }
 
+    /**
+     * Evaluates provided source without blocking the calling thread. When the engine has been
+     * configured with an {@link Builder#executor(java.util.concurrent.Executor) executor}, the
+     * evaluation is enqueued to it and this method returns immediately; the request may be issued
+     * from any thread. Otherwise the source is evaluated synchronously, like
+     * {@link #eval(com.oracle.truffle.api.source.Source)} does.
+     * <p>
+     * Asynchronous requests of an engine never run concurrently, even if the executor uses more
+     * threads. A request is submitted to the executor only after the previous one, including its
+     * callback, has finished.
+     * <p>
+     * Once the evaluation is over, the <code>callback</code> is notified in the thread that
+     * performed it. The callback should not block - use
+     * {@link Value#executeAsync(Callback, Object...)} to continue with further requests.
+     *
+     * @param source code snippet to execute
+     * @param callback notified about the result or <code>null</code>
+     * @return future representing the result of the evaluation
+     * @since 0.16
+     */
+    public Future<Value> evalAsync(final Source source, Callback callback) {
+        assertNoTruffle();
+        assert executor != null || checkThread();
+        final String mimeType = source.getMimeType();
+        final Language l = langs.get(mimeType);
+        final TruffleLanguage[] lang = {null};
+        AsyncCompute compute = new AsyncCompute(lang, callback) {
+            @Override
+            protected Object compute() throws IOException {
+                if (l == null) {
+                    throw new IOException("No language for MIME type " + mimeType + " found. Supported types: " + langs.keySet());
+                }
+                return evalImpl(lang, source, l);
+            }
+        };
+        return compute.start();
+    }
+
     /**
      * Dispose instance of this engine. A user can explicitly
      * {@link TruffleLanguage#disposeContext(java.lang.Object) dispose all resources} allocated by
@@ -544,7 +621,7 @@ public class PolyglotEngine {
     }
 
     Language createLanguage(Map.Entry<String, LanguageCache> en) {
-        return new Language(en.getValue());
+        return new Language(en.getValue(), null);
     }
 
     ContextStore context() {
@@ -885,13 +962,187 @@ public class PolyglotEngine {
             return target.call(args);
         }
 
+        /**
+         * Executes the symbol without blocking the calling thread. Works like
+         * {@link #execute(java.lang.Object...)}, but the request is enqueued to the
+         * {@link Builder#executor(java.util.concurrent.Executor) executor} of the engine (if any)
+         * and the result is delivered to the <code>callback</code> in the thread that computed it.
+         * This method may be called from any thread, including from a callback of a previous
+         * request.
+         *
+         * @param callback notified about the result or <code>null</code>
+         * @param args arguments to pass when invoking the symbol
+         * @return future representing the value returned by invoking the symbol
+         * @since 0.16
+         */
+        public Future<Value> executeAsync(Callback callback, final Object... args) {
+            assertNoTruffle();
+            assert executor != null || checkThread();
+            AsyncCompute compute = new AsyncCompute(language, callback) {
+                @Override
+                protected Object compute() throws IOException {
+                    return executeDirect(args);
+                }
+            };
+            return compute.start();
+        }
+
+        boolean isComputed() {
+            return false;
+        }
+
         private Object waitForSymbol() throws IOException {
             assertNoTruffle();
-            assert checkThread();
+            assert isComputed() || checkThread();
             return value();
         }
     }
 
+    /**
+     * Receives results of {@link PolyglotEngine#evalAsync(Source, Callback) asynchronous
+     * requests}. Exactly one of the methods is called for each request.
+     *
+     * @since 0.16
+     */
+    public interface Callback {
+        /**
+         * The request has been successfully computed.
+         *
+         * @param value the result, its {@link Value#get()} returns without waiting
+         * @since 0.16
+         */
+        void done(Value value);
+
+        /**
+         * The request has failed.
+         *
+         * @param error the exception thrown by the computation
+         * @since 0.16
+         */
+        void failed(Throwable error);
+    }
+
+    private abstract class AsyncCompute extends ComputeInExecutor<Object> {
+        private final TruffleLanguage<?>[] language;
+        private final Callback callback;
+
+        AsyncCompute(TruffleLanguage<?>[] language, Callback callback) {
+            super(executor);
+            this.language = language;
+            this.callback = callback;
+        }
+
+        final Future<Value> start() {
+            boolean first;
+            synchronized (asyncQueue) {
+                first = !asyncRunning;
+                if (first) {
+                    asyncRunning = true;
+                } else {
+                    asyncQueue.add(this);
+                }
+            }
+            if (first) {
+                submit();
+            }
+            return new AsyncValue(language, this);
+        }
+
+        private void submit() {
+            try {
+                perform();
+            } catch (IOException | RuntimeException | Error ex) {
+                // remembered as the exception of the computation and reported by done()
+            }
+        }
+
+        @Override
+        protected final void done() {
+            try {
+                notifyCallback();
+            } finally {
+                AsyncCompute next;
+                synchronized (asyncQueue) {
+                    next = asyncQueue.poll();
+                    if (next == null) {
+                        asyncRunning = false;
+                    }
+                }
+                if (next != null) {
+                    next.submit();
+                }
+            }
+        }
+
+        private void notifyCallback() {
+            if (callback == null) {
+                return;
+            }
+            try {
+                Throwable error = getException();
+                if (error == null) {
+                    callback.done(new ExecutorValue(language, this));
+                } else {
+                    callback.failed(error);
+                }
+            } catch (RuntimeException ex) {
+                LOG.log(Level.SEVERE, "Error in callback " + callback, ex);
+            }
+        }
+    }
+
+    private final class AsyncValue implements Future<Value> {
+        private final TruffleLanguage<?>[] language;
+        private final ComputeInExecutor<Object> compute;
+
+        AsyncValue(TruffleLanguage<?>[] language, ComputeInExecutor<Object> compute) {
+            this.language = language;
+            this.compute = compute;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return compute.isDone();
+        }
+
+        @Override
+        public Value get() throws InterruptedException, ExecutionException {
+            compute.waitForDone(0L);
+            return value();
+        }
+
+        @Override
+        public Value get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!compute.waitForDone(Math.max(1L, unit.toMillis(timeout)))) {
+                throw new TimeoutException();
+            }
+            return value();
+        }
+
+        private Value value() throws ExecutionException {
+            Throwable error = compute.getException();
+            if (error != null) {
+                throw new ExecutionException(error);
+            }
+            return new ExecutorValue(language, compute);
+        }
+
+        @Override
+        public String toString() {
+            return "PolyglotEngine.Future[" + compute + "]";
+        }
+    }
+
     private class DirectValue extends Value {
         private final Object value;
 
@@ -934,6 +1185,11 @@ public class PolyglotEngine {
             return compute.get();
         }
 
+        @Override
+        boolean isComputed() {
+            return compute.isDone();
+        }
+
         @Override
         public String toString() {
             return "PolyglotEngine.Value[" + compute + "]";
@@ -1074,8 +1330,8 @@ public class PolyglotEngine {
         private final LanguageCache info;
         private TruffleLanguage.Env env;
 
-        Language(LanguageCache info) {
-            this.cache = new WeakHashMap<>();
+        Language(LanguageCache info, Map<Source, CallTarget> cache) {
+            this.cache = cache == null ? Collections.synchronizedMap(new WeakHashMap<Source, CallTarget>()) : cache;
             this.info = info;
         }
 
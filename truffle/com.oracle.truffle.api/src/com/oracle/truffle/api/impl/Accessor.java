@@ -36,6 +36,7 @@ import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.TruffleRuntime;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.nodes.Node;
@@ -348,6 +349,14 @@ public abstract class Accessor {
         }
     }
 
+    protected int getStackDepth() {
+        TruffleRuntime runtime = Truffle.getRuntime();
+        if (runtime instanceof DefaultTruffleRuntime) {
+            return ((DefaultTruffleRuntime) runtime).getStackDepth();
+        }
+        return SUPPORT != null ? SUPPORT.getStackDepth() : -1;
+    }
+
     static <T extends TruffleLanguage<?>> T findLanguageByClass(Object vm, Class<T> languageClass) {
         Env env = SPI.findEnv(vm, languageClass);
         TruffleLanguage<?> language = API.findLanguage(env);
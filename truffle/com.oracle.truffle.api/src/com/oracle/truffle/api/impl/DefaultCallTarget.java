@@ -60,6 +60,9 @@ public final class DefaultCallTarget implements RootCallTarget {
             initialize();
         }
         final DefaultVirtualFrame frame = new DefaultVirtualFrame(getRootNode().getFrameDescriptor(), args);
+        if (DefaultTruffleRuntime.LAZY_FRAME_STACK) {
+            return callWithFrameStack(frame, callNode);
+        }
         getRuntime().pushFrame(frame, this, callNode);
         try {
             return getRootNode().execute(frame);
@@ -74,6 +77,9 @@ public final class DefaultCallTarget implements RootCallTarget {
             initialize();
         }
         final DefaultVirtualFrame frame = new DefaultVirtualFrame(getRootNode().getFrameDescriptor(), args);
+        if (DefaultTruffleRuntime.LAZY_FRAME_STACK) {
+            return callWithFrameStack(frame, null);
+        }
         getRuntime().pushFrame(frame, this);
         try {
             return getRootNode().execute(frame);
@@ -82,6 +88,16 @@ public final class DefaultCallTarget implements RootCallTarget {
         }
     }
 
+    private Object callWithFrameStack(DefaultVirtualFrame frame, Node callNode) {
+        final DefaultTruffleRuntime.DefaultFrameStack stack = getRuntime().getFrameStack();
+        stack.push(frame, this, callNode);
+        try {
+            return getRootNode().execute(frame);
+        } finally {
+            stack.pop();
+        }
+    }
+
     private static DefaultTruffleRuntime getRuntime() {
         return (DefaultTruffleRuntime) Truffle.getRuntime();
     }
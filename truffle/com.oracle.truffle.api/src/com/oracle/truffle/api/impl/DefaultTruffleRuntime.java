@@ -24,6 +24,7 @@
  */
 package com.oracle.truffle.api.impl;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -58,7 +59,21 @@ import com.oracle.truffle.api.nodes.RootNode;
  */
 public final class DefaultTruffleRuntime implements TruffleRuntime {
 
+    /*
+     * By default the stack of each thread is tracked in a mutable per-thread array stack that does
+     * not allocate when calls are entered or left. Frame instances are only created when the stack
+     * is inspected. Setting the property to false falls back to eagerly allocated immutable frame
+     * instances.
+     */
+    static final boolean LAZY_FRAME_STACK = Boolean.parseBoolean(System.getProperty("truffle.LazyFrameStack", "true"));
+
     private final ThreadLocal<DefaultFrameInstance> stackTraces = new ThreadLocal<>();
+    private final ThreadLocal<DefaultFrameStack> frameStacks = new ThreadLocal<DefaultFrameStack>() {
+        @Override
+        protected DefaultFrameStack initialValue() {
+            return new DefaultFrameStack();
+        }
+    };
     private final Map<RootCallTarget, Void> callTargets = Collections.synchronizedMap(new WeakHashMap<RootCallTarget, Void>());
     private final DefaultTVMCI tvmci = new DefaultTVMCI();
 
@@ -126,6 +141,9 @@ public final class DefaultTruffleRuntime implements TruffleRuntime {
 
     @Override
     public <T> T iterateFrames(FrameInstanceVisitor<T> visitor) {
+        if (LAZY_FRAME_STACK) {
+            return getFrameStack().iterateFrames(visitor);
+        }
         T result = null;
         DefaultFrameInstance frameInstance = getThreadLocalStackTrace();
         while (frameInstance != null) {
@@ -140,6 +158,9 @@ public final class DefaultTruffleRuntime implements TruffleRuntime {
 
     @Override
     public FrameInstance getCallerFrame() {
+        if (LAZY_FRAME_STACK) {
+            return getFrameStack().getFrameInstance(1);
+        }
         DefaultFrameInstance currentFrame = getThreadLocalStackTrace();
         if (currentFrame != null) {
             return currentFrame.callerFrame;
@@ -156,9 +177,27 @@ public final class DefaultTruffleRuntime implements TruffleRuntime {
 
     @Override
     public FrameInstance getCurrentFrame() {
+        if (LAZY_FRAME_STACK) {
+            return getFrameStack().getFrameInstance(0);
+        }
         return getThreadLocalStackTrace();
     }
 
+    /**
+     * Number of calls active on the current thread, available without walking the stack.
+     */
+    int getStackDepth() {
+        if (LAZY_FRAME_STACK) {
+            return getFrameStack().depth();
+        }
+        DefaultFrameInstance currentFrame = getThreadLocalStackTrace();
+        return currentFrame == null ? 0 : currentFrame.depth;
+    }
+
+    DefaultFrameStack getFrameStack() {
+        return frameStacks.get();
+    }
+
     private DefaultFrameInstance getThreadLocalStackTrace() {
         return stackTraces.get();
     }
@@ -208,18 +247,93 @@ public final class DefaultTruffleRuntime implements TruffleRuntime {
         return false;
     }
 
+    /**
+     * Mutable stack of the calls active on one thread. Entering and leaving a call only updates the
+     * arrays, {@link FrameInstance frame instances} are created on demand while the stack is
+     * inspected.
+     */
+    static final class DefaultFrameStack {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private VirtualFrame[] frames = new VirtualFrame[INITIAL_CAPACITY];
+        private CallTarget[] targets = new CallTarget[INITIAL_CAPACITY];
+        private Node[] callNodes = new Node[INITIAL_CAPACITY];
+        private int depth;
+
+        void push(VirtualFrame frame, CallTarget target, Node parentCallNode) {
+            int index = depth;
+            if (index == frames.length) {
+                grow();
+            }
+            if (index > 0) {
+                callNodes[index - 1] = parentCallNode;
+            }
+            frames[index] = frame;
+            targets[index] = target;
+            depth = index + 1;
+        }
+
+        void pop() {
+            int index = depth - 1;
+            frames[index] = null;
+            targets[index] = null;
+            if (index > 0) {
+                callNodes[index - 1] = null;
+            }
+            depth = index;
+        }
+
+        int depth() {
+            return depth;
+        }
+
+        private void grow() {
+            int newCapacity = frames.length << 1;
+            frames = Arrays.copyOf(frames, newCapacity);
+            targets = Arrays.copyOf(targets, newCapacity);
+            callNodes = Arrays.copyOf(callNodes, newCapacity);
+        }
+
+        /**
+         * Creates a frame instance for the call that is <code>distance</code> frames below the
+         * current one or <code>null</code> if the stack is not that deep.
+         */
+        FrameInstance getFrameInstance(int distance) {
+            int index = depth - 1 - distance;
+            if (index < 0) {
+                return null;
+            }
+            return new DefaultFrameInstance(frames[index], targets[index], callNodes[index], null);
+        }
+
+        <T> T iterateFrames(FrameInstanceVisitor<T> visitor) {
+            T result = null;
+            for (int index = depth - 1; index >= 0; index--) {
+                result = visitor.visitFrame(new DefaultFrameInstance(frames[index], targets[index], callNodes[index], null));
+                if (result != null) {
+                    return result;
+                }
+            }
+            return result;
+        }
+    }
+
     private static class DefaultFrameInstance implements FrameInstance {
 
         private final CallTarget target;
         private final VirtualFrame frame;
         private final Node callNode;
         private final DefaultFrameInstance callerFrame;
+        /** Length of the caller chain including this frame. */
+        private final int depth;
 
         DefaultFrameInstance(VirtualFrame frame, CallTarget target, Node callNode, DefaultFrameInstance callerFrame) {
             this.target = target;
             this.frame = frame;
             this.callNode = callNode;
             this.callerFrame = callerFrame;
+            this.depth = callerFrame == null ? 1 : callerFrame.depth + 1;
         }
 
         public final Frame getFrame(FrameAccess access, boolean slowPath) {
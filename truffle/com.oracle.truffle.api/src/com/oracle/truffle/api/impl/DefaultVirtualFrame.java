@@ -40,17 +40,28 @@ import java.util.Arrays;
  */
 final class DefaultVirtualFrame implements VirtualFrame {
 
+    private static final FrameSlotKind[] FRAME_SLOT_KINDS = FrameSlotKind.values();
+    private static final Object[] EMPTY_LOCALS = new Object[0];
+    private static final long[] EMPTY_PRIMITIVE_LOCALS = new long[0];
+    private static final byte[] EMPTY_TAGS = new byte[0];
+
     private final FrameDescriptor descriptor;
     private final Object[] arguments;
     private Object[] locals;
+    /* Values of slots tagged with a primitive kind; kept unboxed to avoid allocations. */
+    private long[] primitiveLocals;
     private byte[] tags;
 
     DefaultVirtualFrame(FrameDescriptor descriptor, Object[] arguments) {
         this.descriptor = descriptor;
         this.arguments = arguments;
-        this.locals = new Object[descriptor.getSize()];
-        Arrays.fill(locals, descriptor.getDefaultValue());
-        this.tags = new byte[descriptor.getSize()];
+        /*
+         * The slot arrays are allocated on the first slot access, so calls that only use their
+         * arguments do not pay for locals they never touch.
+         */
+        this.locals = EMPTY_LOCALS;
+        this.primitiveLocals = EMPTY_PRIMITIVE_LOCALS;
+        this.tags = EMPTY_TAGS;
     }
 
     @Override
@@ -78,73 +89,73 @@ final class DefaultVirtualFrame implements VirtualFrame {
     @Override
     public byte getByte(FrameSlot slot) throws FrameSlotTypeException {
         verifyGet(slot, FrameSlotKind.Byte);
-        return (byte) locals[slot.getIndex()];
+        return (byte) primitiveLocals[slot.getIndex()];
     }
 
     @Override
     public void setByte(FrameSlot slot, byte value) {
         verifySet(slot, FrameSlotKind.Byte);
-        locals[slot.getIndex()] = value;
+        primitiveLocals[slot.getIndex()] = value;
     }
 
     @Override
     public boolean getBoolean(FrameSlot slot) throws FrameSlotTypeException {
         verifyGet(slot, FrameSlotKind.Boolean);
-        return (boolean) locals[slot.getIndex()];
+        return primitiveLocals[slot.getIndex()] != 0;
     }
 
     @Override
     public void setBoolean(FrameSlot slot, boolean value) {
         verifySet(slot, FrameSlotKind.Boolean);
-        locals[slot.getIndex()] = value;
+        primitiveLocals[slot.getIndex()] = value ? 1 : 0;
     }
 
     @Override
     public int getInt(FrameSlot slot) throws FrameSlotTypeException {
         verifyGet(slot, FrameSlotKind.Int);
-        return (int) locals[slot.getIndex()];
+        return (int) primitiveLocals[slot.getIndex()];
     }
 
     @Override
     public void setInt(FrameSlot slot, int value) {
         verifySet(slot, FrameSlotKind.Int);
-        locals[slot.getIndex()] = value;
+        primitiveLocals[slot.getIndex()] = value;
     }
 
     @Override
     public long getLong(FrameSlot slot) throws FrameSlotTypeException {
         verifyGet(slot, FrameSlotKind.Long);
-        return (long) locals[slot.getIndex()];
+        return primitiveLocals[slot.getIndex()];
     }
 
     @Override
     public void setLong(FrameSlot slot, long value) {
         verifySet(slot, FrameSlotKind.Long);
-        locals[slot.getIndex()] = value;
+        primitiveLocals[slot.getIndex()] = value;
     }
 
     @Override
     public float getFloat(FrameSlot slot) throws FrameSlotTypeException {
         verifyGet(slot, FrameSlotKind.Float);
-        return (float) locals[slot.getIndex()];
+        return Float.intBitsToFloat((int) primitiveLocals[slot.getIndex()]);
     }
 
     @Override
     public void setFloat(FrameSlot slot, float value) {
         verifySet(slot, FrameSlotKind.Float);
-        locals[slot.getIndex()] = value;
+        primitiveLocals[slot.getIndex()] = Float.floatToRawIntBits(value);
     }
 
     @Override
     public double getDouble(FrameSlot slot) throws FrameSlotTypeException {
         verifyGet(slot, FrameSlotKind.Double);
-        return (double) locals[slot.getIndex()];
+        return Double.longBitsToDouble(primitiveLocals[slot.getIndex()]);
     }
 
     @Override
     public void setDouble(FrameSlot slot, double value) {
         verifySet(slot, FrameSlotKind.Double);
-        locals[slot.getIndex()] = value;
+        primitiveLocals[slot.getIndex()] = Double.doubleToRawLongBits(value);
     }
 
     @Override
@@ -155,7 +166,27 @@ final class DefaultVirtualFrame implements VirtualFrame {
     @Override
     public Object getValue(FrameSlot slot) {
         int slotIndex = getSlotIndexChecked(slot);
-        return locals[slotIndex];
+        byte tag = tags[slotIndex];
+        if (tag == 0) {
+            return locals[slotIndex];
+        }
+        long primitive = primitiveLocals[slotIndex];
+        switch (FRAME_SLOT_KINDS[tag]) {
+            case Long:
+                return primitive;
+            case Int:
+                return (int) primitive;
+            case Double:
+                return Double.longBitsToDouble(primitive);
+            case Float:
+                return Float.intBitsToFloat((int) primitive);
+            case Boolean:
+                return primitive != 0;
+            case Byte:
+                return (byte) primitive;
+            default:
+                return locals[slotIndex];
+        }
     }
 
     private int getSlotIndexChecked(FrameSlot slot) {
@@ -170,7 +201,12 @@ final class DefaultVirtualFrame implements VirtualFrame {
 
     private void verifySet(FrameSlot slot, FrameSlotKind accessKind) {
         int slotIndex = getSlotIndexChecked(slot);
-        tags[slotIndex] = (byte) accessKind.ordinal();
+        byte tag = (byte) accessKind.ordinal();
+        if (tag != 0 && tags[slotIndex] == 0) {
+            // do not keep the previous object alive
+            locals[slotIndex] = null;
+        }
+        tags[slotIndex] = tag;
     }
 
     private void verifyGet(FrameSlot slot, FrameSlotKind accessKind) throws FrameSlotTypeException {
@@ -186,7 +222,11 @@ final class DefaultVirtualFrame implements VirtualFrame {
         int newSize = descriptor.getSize();
         if (newSize > oldSize) {
             locals = Arrays.copyOf(locals, newSize);
-            Arrays.fill(locals, oldSize, newSize, descriptor.getDefaultValue());
+            Object defaultValue = descriptor.getDefaultValue();
+            if (defaultValue != null) {
+                Arrays.fill(locals, oldSize, newSize, defaultValue);
+            }
+            primitiveLocals = Arrays.copyOf(primitiveLocals, newSize);
             tags = Arrays.copyOf(tags, newSize);
             return true;
         }
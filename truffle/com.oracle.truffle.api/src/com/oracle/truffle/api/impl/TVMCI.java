@@ -118,4 +118,17 @@ public abstract class TVMCI {
     protected boolean getFrameMaterializeCalled(FrameDescriptor descriptor) {
         return Accessor.framesAccess().getMaterializeCalled(descriptor);
     }
+
+    /**
+     * Number of guest language frames on the stack of the current thread or a negative value if
+     * the runtime cannot answer without walking the stack. Runtimes that keep an explicit frame
+     * stack should override this so tools like the debugger do not need to
+     * {@link com.oracle.truffle.api.TruffleRuntime#iterateFrames(com.oracle.truffle.api.frame.FrameInstanceVisitor)
+     * iterate all frames} to learn the current depth.
+     *
+     * @since 0.16
+     */
+    protected int getStackDepth() {
+        return -1;
+    }
 }
@@ -433,16 +433,20 @@ public abstract class Node implements NodeInterface, Cloneable {
 
     /** @since 0.8 or earlier */
     public final void atomic(Runnable closure) {
-        RootNode rootNode = getRootNode();
-        // Major Assumption: parent is never null after a node got adopted
-        // it is never reset to null, and thus, rootNode is always reachable.
-        // GIL: used for nodes that are replace in ASTs that are not yet adopted
-        synchronized (rootNode != null ? rootNode : GIL) {
-            assert enterAtomic();
-            try {
-                closure.run();
-            } finally {
-                assert exitAtomic();
+        while (true) {
+            Node lock = getTreeLock();
+            synchronized (lock) {
+                if (lock.parent != null) {
+                    // the tree got adopted while we were waiting, lock its new root
+                    continue;
+                }
+                assert enterAtomic();
+                try {
+                    closure.run();
+                    return;
+                } finally {
+                    assert exitAtomic();
+                }
             }
         }
     }
@@ -450,16 +454,19 @@ public abstract class Node implements NodeInterface, Cloneable {
     /** @since 0.8 or earlier */
     public final <T> T atomic(Callable<T> closure) {
         try {
-            RootNode rootNode = getRootNode();
-            // Major Assumption: parent is never null after a node got adopted
-            // it is never reset to null, and thus, rootNode is always reachable.
-            // GIL: used for nodes that are replace in ASTs that are not yet adopted
-            synchronized (rootNode != null ? rootNode : GIL) {
-                assert enterAtomic();
-                try {
-                    return closure.call();
-                } finally {
-                    assert exitAtomic();
+            while (true) {
+                Node lock = getTreeLock();
+                synchronized (lock) {
+                    if (lock.parent != null) {
+                        // the tree got adopted while we were waiting, lock its new root
+                        continue;
+                    }
+                    assert enterAtomic();
+                    try {
+                        return closure.call();
+                    } finally {
+                        assert exitAtomic();
+                    }
                 }
             }
         } catch (RuntimeException | Error e) {
@@ -469,6 +476,22 @@ public abstract class Node implements NodeInterface, Cloneable {
         }
     }
 
+    /*
+     * Returns the topmost node of the tree this node belongs to. That is the root node for adopted
+     * trees and the top of the detached subtree otherwise, so trees that are created and
+     * specialized in parallel do not contend on a shared lock. Major Assumption: the parent of an
+     * adopted node is never reset to null, and thus, the root node is always reachable.
+     */
+    private Node getTreeLock() {
+        Node node = this;
+        Node nodeParent = node.parent;
+        while (nodeParent != null) {
+            node = nodeParent;
+            nodeParent = node.parent;
+        }
+        return node;
+    }
+
     /**
      * Returns <code>true</code> if this node should be considered tagged by a given tag else
      * <code>false</code>. The method is only invoked for tags which are explicitly declared as
@@ -541,8 +564,6 @@ public abstract class Node implements NodeInterface, Cloneable {
         return "";
     }
 
-    private static final Object GIL = new Object();
-
     private static final ThreadLocal<Integer> IN_ATOMIC_BLOCK = new ThreadLocal<Integer>() {
         @Override
         protected Integer initialValue() {
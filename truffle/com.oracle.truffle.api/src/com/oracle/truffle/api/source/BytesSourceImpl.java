@@ -33,6 +33,7 @@ import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 
 final class BytesSourceImpl extends Content implements Content.CreateURI {
 
@@ -41,6 +42,7 @@ final class BytesSourceImpl extends Content implements Content.CreateURI {
     private final int byteIndex;
     private final int length;
     private final CharsetDecoder decoder;
+    private final EncodedText text;
 
     BytesSourceImpl(String name, byte[] bytes, int byteIndex, int length, Charset decoder) {
         this.name = name;
@@ -48,6 +50,11 @@ final class BytesSourceImpl extends Content implements Content.CreateURI {
         this.byteIndex = byteIndex;
         this.length = length;
         this.decoder = decoder.newDecoder();
+        if (EncodedText.isSupported(decoder)) {
+            this.text = new EncodedText(ByteBuffer.wrap(bytes, byteIndex, length).slice(), decoder, CodingErrorAction.REPORT);
+        } else {
+            this.text = null;
+        }
     }
 
     @Override
@@ -97,6 +104,30 @@ final class BytesSourceImpl extends Content implements Content.CreateURI {
         return code = chb.toString();
     }
 
+    @Override
+    String getCode(int charIndex, int charLength) {
+        if (code == null && text != null) {
+            try {
+                return text.getCode(charIndex, charLength);
+            } catch (CharacterCodingException ex) {
+                // the whole text decodes to an empty string
+            }
+        }
+        return super.getCode(charIndex, charLength);
+    }
+
+    @Override
+    TextMap createTextMap() {
+        if (code == null && text != null) {
+            try {
+                return text.getTextMap();
+            } catch (CharacterCodingException ex) {
+                // the whole text decodes to an empty string
+            }
+        }
+        return super.createTextMap();
+    }
+
     @Override
     String findMimeType() throws IOException {
         return null;
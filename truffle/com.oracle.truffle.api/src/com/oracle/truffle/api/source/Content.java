@@ -47,6 +47,18 @@ abstract class Content {
 
     abstract String getCode();
 
+    String getCode(int charIndex, int charLength) {
+        return getCode().substring(charIndex, charIndex + charLength);
+    }
+
+    /**
+     * Creates the line map of the text, or returns <code>null</code> if the text is not available.
+     */
+    TextMap createTextMap() {
+        final String text = getCode();
+        return text == null ? null : TextMap.fromString(text);
+    }
+
     abstract String getName();
 
     abstract String getShortName();
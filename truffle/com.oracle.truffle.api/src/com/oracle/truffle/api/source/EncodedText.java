@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.source;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Text stored as encoded bytes, typically the contents of a file. The first request for a line or
+ * character position scans the bytes once to find the lines, without keeping the decoded text. A
+ * section of the text is then decoded from the lines it spans. Only charsets which encode a newline
+ * as the single byte {@code '\n'} are supported, see {@link #isSupported(Charset)}.
+ */
+final class EncodedText {
+
+    private final ByteBuffer bytes;
+    private final Charset charset;
+    private final CodingErrorAction errorAction;
+    private final Encoding encoding;
+    // byte offsets of the starts of the lines in TextMap, with the end of the text as sentinel
+    private int[] lineBytes;
+    private TextMap textMap;
+
+    EncodedText(ByteBuffer bytes, Charset charset, CodingErrorAction errorAction) {
+        this.bytes = bytes;
+        this.charset = charset;
+        this.errorAction = errorAction;
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            this.encoding = Encoding.UTF8;
+        } else if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            this.encoding = Encoding.LATIN1;
+        } else {
+            this.encoding = Encoding.OTHER;
+        }
+    }
+
+    static boolean isSupported(Charset charset) {
+        ByteBuffer newline = charset.encode("\n");
+        return newline.remaining() == 1 && newline.get(0) == '\n';
+    }
+
+    /**
+     * Reads the bytes of the file, or returns <code>null</code> if it is too large to be read into
+     * an array. The file is not memory mapped, as the source must keep its content when the file
+     * is modified later.
+     */
+    static EncodedText read(Path file, Charset charset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                return null;
+            }
+            final ByteBuffer content = ByteBuffer.allocate((int) size);
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // reads until the end of the file
+            }
+            content.flip();
+            return new EncodedText(content, charset, CodingErrorAction.REPLACE);
+        }
+    }
+
+    String getCode() throws CharacterCodingException {
+        return decode(0, bytes.limit());
+    }
+
+    String getCode(int charIndex, int charLength) throws CharacterCodingException {
+        final TextMap map = getTextMap();
+        if (charLength == 0 && charIndex <= map.length()) {
+            return "";
+        }
+        final int firstLine = map.offsetToLine(charIndex);
+        final int lastLine = map.offsetToLine(charIndex + charLength - 1);
+        final String lines = decode(lineBytes[firstLine - 1], lineBytes[lastLine]);
+        final int start = charIndex - map.lineStartOffset(firstLine);
+        return lines.substring(start, start + charLength);
+    }
+
+    synchronized TextMap getTextMap() throws CharacterCodingException {
+        if (textMap == null) {
+            scanLines();
+        }
+        return textMap;
+    }
+
+    private void scanLines() throws CharacterCodingException {
+        final int limit = bytes.limit();
+        final ByteBuffer source = bytes.duplicate();
+        final byte[] chunk = new byte[8192];
+        int[] lineChars = new int[Math.max(16, limit / 32)];
+        int[] lineStarts = new int[lineChars.length];
+        int count = 0;
+        lineChars[count] = 0;
+        lineStarts[count++] = 0;
+        int chars = 0;
+        int lineStart = 0;
+        int length = 0;
+        boolean regular = encoding != Encoding.OTHER;
+        // UTF-8: number of continuation bytes expected and the range of the next one
+        int pending = 0;
+        int low = 0x80;
+        int high = 0xBF;
+        for (int chunkStart = 0; chunkStart < limit; chunkStart += chunk.length) {
+            final int n = Math.min(chunk.length, limit - chunkStart);
+            source.position(chunkStart);
+            source.get(chunk, 0, n);
+            for (int i = 0; i < n; i++) {
+                final byte b = chunk[i];
+                if (b == '\n') {
+                    final int end = chunkStart + i;
+                    if (!regular || pending != 0) {
+                        length = decodedLength(lineStart, end);
+                    }
+                    chars += length + 1;
+                    if (count + 1 >= lineChars.length) {
+                        lineChars = Arrays.copyOf(lineChars, lineChars.length << 1);
+                        lineStarts = Arrays.copyOf(lineStarts, lineStarts.length << 1);
+                    }
+                    lineChars[count] = chars;
+                    lineStarts[count++] = end + 1;
+                    lineStart = end + 1;
+                    length = 0;
+                    regular = encoding != Encoding.OTHER;
+                    pending = 0;
+                } else if (b >= 0 && pending == 0) {
+                    length++;
+                } else if (encoding == Encoding.LATIN1) {
+                    length++;
+                } else if (encoding == Encoding.UTF8) {
+                    final int u = b & 0xFF;
+                    if (pending > 0) {
+                        regular &= u >= low && u <= high;
+                        pending--;
+                        low = 0x80;
+                        high = 0xBF;
+                    } else if (u >= 0xC2 && u <= 0xDF) {
+                        pending = 1;
+                        length++;
+                    } else if (u >= 0xE0 && u <= 0xEF) {
+                        pending = 2;
+                        low = u == 0xE0 ? 0xA0 : 0x80;
+                        high = u == 0xED ? 0x9F : 0xBF;
+                        length++;
+                    } else if (u >= 0xF0 && u <= 0xF4) {
+                        pending = 3;
+                        low = u == 0xF0 ? 0x90 : 0x80;
+                        high = u == 0xF4 ? 0x8F : 0xBF;
+                        length += 2;
+                    } else {
+                        regular = false;
+                    }
+                }
+            }
+        }
+        if (lineStart < limit) {
+            if (!regular || pending != 0) {
+                length = decodedLength(lineStart, limit);
+            }
+            chars += length;
+        }
+        lineChars[count] = Integer.MAX_VALUE;
+        lineStarts[count++] = limit;
+        final int[] nlOffsets = Arrays.copyOf(lineChars, count);
+        final boolean finalNL = chars > 0 && chars == nlOffsets[count - 2];
+        this.lineBytes = Arrays.copyOf(lineStarts, count);
+        this.textMap = new TextMap(nlOffsets, chars, finalNL);
+    }
+
+    private int decodedLength(int start, int end) throws CharacterCodingException {
+        final ByteBuffer line = bytes.duplicate();
+        line.limit(end).position(start);
+        final CharsetDecoder decoder = newDecoder();
+        final CharBuffer decoded = CharBuffer.allocate((int) (line.remaining() * (double) decoder.maxCharsPerByte()) + 1);
+        CoderResult result = decoder.decode(line, decoded, true);
+        if (result.isUnderflow()) {
+            result = decoder.flush(decoded);
+        }
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        return decoded.position();
+    }
+
+    private CharsetDecoder newDecoder() {
+        return charset.newDecoder().onMalformedInput(errorAction).onUnmappableCharacter(errorAction);
+    }
+
+    private String decode(int start, int end) throws CharacterCodingException {
+        if (bytes.hasArray() && errorAction == CodingErrorAction.REPLACE) {
+            // decodes without an intermediate CharBuffer
+            return new String(bytes.array(), bytes.arrayOffset() + start, end - start, charset);
+        }
+        final ByteBuffer range = bytes.duplicate();
+        range.limit(end).position(start);
+        final CharBuffer decoded = newDecoder().decode(range);
+        return decoded.toString();
+    }
+
+    /**
+     * Encodings whose character count is computed without decoding. Lines of other encodings, and
+     * lines which are not well-formed, are decoded to count their characters.
+     */
+    private enum Encoding {
+        UTF8,
+        LATIN1,
+        OTHER
+    }
+}
@@ -34,6 +34,8 @@ import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 
 final class FileSourceImpl extends Content implements Content.CreateURI {
@@ -41,6 +43,8 @@ final class FileSourceImpl extends Content implements Content.CreateURI {
     private final File file;
     private final String name; // Name used originally to describe the source
     private final String path; // Normalized path description of an actual file
+    private EncodedText bytes; // The undecoded content of the file, if it is cached
+    private boolean readFailed;
 
     FileSourceImpl(File file, String name, String path) {
         this.file = file.getAbsoluteFile();
@@ -68,7 +72,9 @@ final class FileSourceImpl extends Content implements Content.CreateURI {
         if (Source.fileCacheEnabled) {
             if (code == null) {
                 try {
-                    code = Source.read(getReader());
+                    final EncodedText text = getBytes();
+                    code = text != null ? text.getCode() : Source.read(getReader());
+                    releaseBytes();
                 } catch (IOException e) {
                 }
             }
@@ -81,6 +87,56 @@ final class FileSourceImpl extends Content implements Content.CreateURI {
         return null;
     }
 
+    @Override
+    String getCode(int charIndex, int charLength) {
+        if (code == null && Source.fileCacheEnabled) {
+            final EncodedText text = getBytes();
+            if (text != null) {
+                try {
+                    return text.getCode(charIndex, charLength);
+                } catch (CharacterCodingException ex) {
+                    throw new IllegalStateException(ex); // malformed input is replaced
+                }
+            }
+        }
+        return super.getCode(charIndex, charLength);
+    }
+
+    @Override
+    TextMap createTextMap() {
+        if (code == null && Source.fileCacheEnabled) {
+            final EncodedText text = getBytes();
+            if (text != null) {
+                try {
+                    return text.getTextMap();
+                } catch (CharacterCodingException ex) {
+                    throw new IllegalStateException(ex); // malformed input is replaced
+                }
+            }
+        }
+        return super.createTextMap();
+    }
+
+    /**
+     * Reads the file on first use, so that lines and sections of a large file can be read without
+     * decoding all of it.
+     */
+    private synchronized EncodedText getBytes() {
+        if (bytes == null && !readFailed && code == null) {
+            try {
+                bytes = EncodedText.read(file.toPath(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                // falls back to reading the file
+            }
+            readFailed = bytes == null;
+        }
+        return bytes;
+    }
+
+    private synchronized void releaseBytes() {
+        bytes = null;
+    }
+
     @Override
     public String getPath() {
         return path;
@@ -703,7 +703,7 @@ public abstract class Source {
      * @since 0.8 or earlier
      */
     public String getCode(int charIndex, int charLength) {
-        return getCode().substring(charIndex, charIndex + charLength);
+        return content().getCode(charIndex, charLength);
     }
 
     /**
@@ -714,7 +714,7 @@ public abstract class Source {
     public final String getCode(int lineNumber) {
         final int offset = getTextMap().lineStartOffset(lineNumber);
         final int length = getTextMap().lineLength(lineNumber);
-        return getCode().substring(offset, offset + length);
+        return getCode(offset, length);
     }
 
     /**
@@ -884,7 +884,7 @@ public abstract class Source {
     }
 
     void checkRange(int charIndex, int length) {
-        if (!(charIndex >= 0 && length >= 0 && charIndex + length <= getCode().length())) {
+        if (!(charIndex >= 0 && length >= 0 && charIndex + length <= getLength())) {
             throw new IllegalArgumentException("text positions out of range");
         }
     }
@@ -938,11 +938,11 @@ public abstract class Source {
     }
 
     TextMap createTextMap() {
-        final String code = getCode();
-        if (code == null) {
+        final TextMap map = content().createTextMap();
+        if (map == null) {
             throw new RuntimeException("can't read file " + getName());
         }
-        return TextMap.fromString(code);
+        return map;
     }
 
     /**
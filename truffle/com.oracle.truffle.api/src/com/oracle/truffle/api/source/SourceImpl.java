@@ -24,14 +24,11 @@
  */
 package com.oracle.truffle.api.source;
 
-import java.lang.ref.WeakReference;
-import java.util.Objects;
-
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import java.net.URI;
 
 final class SourceImpl extends Source implements Cloneable {
-    private static Ref SOURCES = null;
+    private static final WeakRegistry<String, SourceImpl> SOURCES = new WeakRegistry<>();
 
     SourceImpl(Content content) {
         this(content, null, null, null, false);
@@ -49,37 +46,12 @@ final class SourceImpl extends Source implements Cloneable {
         return clone;
     }
 
-    private static long nextCheck;
-
-    static synchronized void registerSource(SourceImpl source) {
-        long now = System.currentTimeMillis();
-        if (nextCheck < now) {
-            findSource(null);
-            nextCheck = now + 1000;
-        }
-        SOURCES = new Ref(source, SOURCES);
+    static void registerSource(SourceImpl source) {
+        SOURCES.register(source.getName(), source);
     }
 
-    static synchronized Source findSource(String name) {
-        Ref prev = null;
-        Ref now = SOURCES;
-        while (now != null) {
-            SourceImpl source = now.get();
-            if (source == null) {
-                if (prev == null) {
-                    SOURCES = now.next;
-                } else {
-                    prev.next = now.next;
-                }
-            } else {
-                prev = now;
-                if (Objects.equals(source.getName(), name)) {
-                    return source;
-                }
-            }
-            now = now.next;
-        }
-        return null;
+    static Source findSource(String name) {
+        return SOURCES.find(name);
     }
 
     @TruffleBoundary
@@ -96,13 +68,4 @@ final class SourceImpl extends Source implements Cloneable {
     public int hashCode() {
         return content().hashCode();
     }
-
-    private static final class Ref extends WeakReference<SourceImpl> {
-        Ref next;
-
-        Ref(SourceImpl source, Ref next) {
-            super(source);
-            this.next = next;
-        }
-    }
 }
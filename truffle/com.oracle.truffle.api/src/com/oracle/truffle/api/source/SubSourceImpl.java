@@ -85,6 +85,14 @@ final class SubSourceImpl extends Content {
         return base.getCode(baseIndex, subLength);
     }
 
+    @Override
+    String getCode(int charIndex, int charLength) {
+        if (charIndex < 0 || charLength < 0 || charIndex + charLength > subLength) {
+            throw new StringIndexOutOfBoundsException(charIndex);
+        }
+        return base.getCode(baseIndex + charIndex, charLength);
+    }
+
     @Override
     String findMimeType() throws IOException {
         return base.getMimeType();
@@ -24,7 +24,7 @@
  */
 package com.oracle.truffle.api.source;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * A utility for converting between coordinate systems in a string of text interspersed with newline
@@ -62,6 +62,8 @@ final class TextMap {
     private final int textLength;
     // Is the final text character a newline?
     final boolean finalNL;
+    // 1-based number of the most recently resolved line; racy, always validated before use
+    private int lastLine = 1;
 
     TextMap(int[] nlOffsets, int textLength, boolean finalNL) {
         this.nlOffsets = nlOffsets;
@@ -75,23 +77,19 @@ final class TextMap {
      */
     public static TextMap fromString(String text) {
         final int textLength = text.length();
-        final ArrayList<Integer> lines = new ArrayList<>();
-        lines.add(0);
-        int offset = 0;
-        while (offset < text.length()) {
-            final int nlIndex = text.indexOf('\n', offset);
-            if (nlIndex >= 0) {
-                offset = nlIndex + 1;
-                lines.add(offset);
-            } else {
-                break;
+        int[] lines = new int[Math.max(16, textLength / 32)];
+        int count = 0;
+        lines[count++] = 0;
+        int nlIndex = text.indexOf('\n');
+        while (nlIndex >= 0) {
+            if (count + 1 >= lines.length) {
+                lines = Arrays.copyOf(lines, lines.length << 1);
             }
+            lines[count++] = nlIndex + 1;
+            nlIndex = text.indexOf('\n', nlIndex + 1);
         }
-        lines.add(Integer.MAX_VALUE);
-        final int[] nlOffsets = new int[lines.size()];
-        for (int line = 0; line < lines.size(); line++) {
-            nlOffsets[line] = lines.get(line);
-        }
+        lines[count++] = Integer.MAX_VALUE;
+        final int[] nlOffsets = count == lines.length ? lines : Arrays.copyOf(lines, count);
         final boolean finalNL = textLength > 0 && (textLength == nlOffsets[nlOffsets.length - 2]);
         return new TextMap(nlOffsets, textLength, finalNL);
     }
@@ -108,10 +106,24 @@ final class TextMap {
             }
             throw new IllegalArgumentException("offset out of bounds");
         }
-        int line = 1;
-        while (offset >= nlOffsets[line]) {
-            line++;
+        final int[] offsets = nlOffsets;
+        final int cached = lastLine;
+        if (offset >= offsets[cached - 1] && offset < offsets[cached]) {
+            return cached;
+        }
+        // find the last line start that is not greater than the offset
+        int low = 0;
+        int high = offsets.length - 2;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
         }
+        final int line = low + 1;
+        lastLine = line;
         return line;
     }
 
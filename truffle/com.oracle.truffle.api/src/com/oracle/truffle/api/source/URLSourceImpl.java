@@ -28,7 +28,6 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -37,19 +36,16 @@ import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
-import java.util.Map;
 
 final class URLSourceImpl extends Content {
 
-    private static final Map<URL, WeakReference<URLSourceImpl>> urlToSource = new HashMap<>();
+    private static final WeakRegistry<URL, URLSourceImpl> urlToSource = new WeakRegistry<>();
 
     public static URLSourceImpl get(URL url, String name) throws IOException {
-        WeakReference<URLSourceImpl> sourceRef = urlToSource.get(url);
-        URLSourceImpl source = sourceRef == null ? null : sourceRef.get();
+        URLSourceImpl source = urlToSource.find(url);
         if (source == null) {
             source = new URLSourceImpl(url, name);
-            urlToSource.put(url, new WeakReference<>(source));
+            urlToSource.register(url, source);
         }
         return source;
     }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.api.source;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe registry of weakly referenced values by their key. Several values can be registered
+ * with the same key, a lookup returns the most recently registered one which is still alive.
+ * Entries of collected values are removed when they appear in the reference queue, so the
+ * registry only grows with the number of reachable values.
+ */
+final class WeakRegistry<K, V> {
+    private static final Object NULL_KEY = new Object();
+
+    private final ConcurrentHashMap<Object, Bucket<V>> buckets = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    void register(K key, V value) {
+        expungeStaleEntries();
+        Object k = key == null ? NULL_KEY : key;
+        Entry<V> entry = new Entry<>(k, value, queue);
+        for (;;) {
+            Bucket<V> bucket = buckets.get(k);
+            if (bucket == null) {
+                Bucket<V> newBucket = new Bucket<>();
+                bucket = buckets.putIfAbsent(k, newBucket);
+                if (bucket == null) {
+                    bucket = newBucket;
+                }
+            }
+            if (bucket.add(entry)) {
+                return;
+            }
+            // the bucket became empty and is being removed
+            buckets.remove(k, bucket);
+        }
+    }
+
+    V find(K key) {
+        expungeStaleEntries();
+        Bucket<V> bucket = buckets.get(key == null ? NULL_KEY : key);
+        return bucket == null ? null : bucket.newest();
+    }
+
+    /**
+     * Number of registered entries, including entries of collected values which were not
+     * expunged yet.
+     */
+    int size() {
+        expungeStaleEntries();
+        int size = 0;
+        for (Bucket<V> bucket : buckets.values()) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends V> ref;
+        while ((ref = queue.poll()) != null) {
+            Entry<?> entry = (Entry<?>) ref;
+            Bucket<?> bucket = entry.bucket;
+            if (bucket != null && entry.unlink()) {
+                buckets.remove(entry.key, bucket);
+            }
+        }
+    }
+
+    private static final class Entry<V> extends WeakReference<V> {
+        final Object key;
+        volatile Bucket<V> bucket;
+        Entry<V> newer;
+        Entry<V> older;
+
+        Entry(Object key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+
+        /**
+         * Removes this entry from its bucket. Returns true if the bucket became empty.
+         */
+        boolean unlink() {
+            return bucket.remove(this);
+        }
+    }
+
+    private static final class Bucket<V> {
+        private Entry<V> newest;
+        private boolean removed;
+
+        synchronized boolean add(Entry<V> entry) {
+            if (removed) {
+                return false;
+            }
+            entry.bucket = this;
+            entry.older = newest;
+            if (newest != null) {
+                newest.newer = entry;
+            }
+            newest = entry;
+            return true;
+        }
+
+        synchronized boolean remove(Entry<V> entry) {
+            if (entry.newer != null) {
+                entry.newer.older = entry.older;
+            } else if (newest == entry) {
+                newest = entry.older;
+            } else {
+                return false;
+            }
+            if (entry.older != null) {
+                entry.older.newer = entry.newer;
+            }
+            entry.newer = null;
+            entry.older = null;
+            if (newest == null) {
+                removed = true;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized V newest() {
+            for (Entry<V> entry = newest; entry != null; entry = entry.older) {
+                V value = entry.get();
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        synchronized int size() {
+            int size = 0;
+            for (Entry<V> entry = newest; entry != null; entry = entry.older) {
+                size++;
+            }
+            return size;
+        }
+    }
+}
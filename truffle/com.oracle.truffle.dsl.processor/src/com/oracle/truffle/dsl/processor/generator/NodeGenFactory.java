@@ -128,6 +128,7 @@ public class NodeGenFactory {
     private final TypeMirror genericType;
     private final DSLOptions options;
     private final boolean singleSpecializable;
+    private final boolean stateBitsets;
     private final int varArgsThreshold;
     private final Set<TypeMirror> expectedTypes = new HashSet<>();
     private final Set<NodeExecutionData> usedExecuteChildMethods = new HashSet<>();
@@ -146,6 +147,7 @@ public class NodeGenFactory {
         this.varArgsThreshold = calculateVarArgsThreshold();
         this.reachableSpecializations = calculateReachableSpecializations();
         this.singleSpecializable = isSingleSpecializableImpl();
+        this.stateBitsets = !singleSpecializable && options.useStateBitsets() && isStateBitsetSupported();
         this.usedTypes = filterBaseExecutableTypes(node.getExecutableTypes(), reachableSpecializations);
     }
 
@@ -212,6 +214,14 @@ public class NodeGenFactory {
         return "exclude" + specialization.getId() + NAME_SUFFIX;
     }
 
+    private static String stateFieldName() {
+        return "state" + NAME_SUFFIX;
+    }
+
+    private static String excludeFieldName() {
+        return "exclude" + NAME_SUFFIX;
+    }
+
     private static String executeChildMethodName(NodeExecutionData execution, TypeMirror type) {
         return "execute" + ElementUtils.firstLetterUpperCase(execution.getName()) + (ElementUtils.isObject(type) ? "" : getTypeId(type)) + NAME_SUFFIX;
     }
@@ -223,6 +233,12 @@ public class NodeGenFactory {
             } else {
                 return CodeTreeBuilder.singleString(name);
             }
+        } else if (stateBitsets) {
+            if (name == null) {
+                return CodeTreeBuilder.singleString("this");
+            } else {
+                return CodeTreeBuilder.createBuilder().string("this.").string(name).build();
+            }
         } else {
             if (name == null) {
                 return CodeTreeBuilder.singleString("root");
@@ -270,9 +286,16 @@ public class NodeGenFactory {
             }
         }
 
-        for (SpecializationData specialization : node.getSpecializations()) {
-            if (mayBeExcluded(specialization)) {
-                clazz.add(createNodeField(PRIVATE, getType(boolean.class), excludedFieldName(specialization), CompilationFinal.class));
+        if (stateBitsets) {
+            clazz.add(createNodeField(PRIVATE, getType(int.class), stateFieldName(), CompilationFinal.class));
+            if (createExcludeMask() != 0) {
+                clazz.add(createNodeField(PRIVATE, getType(int.class), excludeFieldName(), CompilationFinal.class));
+            }
+        } else {
+            for (SpecializationData specialization : node.getSpecializations()) {
+                if (mayBeExcluded(specialization)) {
+                    clazz.add(createNodeField(PRIVATE, getType(boolean.class), excludedFieldName(specialization), CompilationFinal.class));
+                }
             }
         }
 
@@ -307,6 +330,8 @@ public class NodeGenFactory {
             if (singleSpecializableUnsupportedUsed) {
                 addUnsupportedMethod(clazz);
             }
+        } else if (stateBitsets) {
+            createStateBitsetSpecializations(clazz);
         } else {
 
             for (ExecutableTypeData execType : usedTypes) {
@@ -488,6 +513,441 @@ public class NodeGenFactory {
         return node.getUninitializedSpecialization();
     }
 
+    private boolean isStateBitsetSupported() {
+        if (reachableSpecializations.size() > Integer.SIZE) {
+            return false;
+        }
+        for (NodeExecutionData execution : node.getChildExecutions()) {
+            if (execution.isShortCircuit()) {
+                return false;
+            }
+        }
+        for (SpecializationData specialization : reachableSpecializations) {
+            if (!specialization.getCaches().isEmpty() || !specialization.getAssumptionExpressions().isEmpty()) {
+                return false;
+            }
+            if (specialization.hasMultipleInstances()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // create state bitset specializations
+
+    private void createStateBitsetSpecializations(CodeTypeElement clazz) {
+        for (ExecutableTypeData execType : usedTypes) {
+            if (execType.getMethod() == null) {
+                continue;
+            }
+            clazz.add(createStateBitsetExecutableTypeOverride(execType));
+        }
+
+        clazz.add(createStateBitsetExecute());
+        clazz.add(createStateBitsetExecuteAndSpecialize());
+        clazz.add(createStateBitsetUpdate(clazz));
+        clazz.addOptional(createStateBitsetFallbackGuard());
+
+        for (NodeExecutionData execution : node.getChildExecutions()) {
+            TypeMirror genericChildType = node.getGenericType(execution);
+            if (isExecuteChildShared(execution, genericChildType)) {
+                clazz.addOptional(createExecuteChildMethod(execution, genericChildType));
+            }
+        }
+
+        if (singleSpecializableUnsupportedUsed) {
+            addUnsupportedMethod(clazz);
+        }
+    }
+
+    private CodeExecutableElement createStateBitsetExecutableTypeOverride(ExecutableTypeData execType) {
+        LocalContext locals = LocalContext.load(this, execType, Integer.MAX_VALUE);
+        CodeExecutableElement method = createExecuteMethod(null, execType, locals, true, Integer.MAX_VALUE);
+
+        CodeTreeBuilder builder = method.createBuilder();
+        boolean stateRead = false;
+        for (int i = 0; i < reachableSpecializations.size(); i++) {
+            SpecializationData specialization = reachableSpecializations.get(i);
+            if (!isStateBitsetTypedPath(specialization)) {
+                continue;
+            }
+            if (!stateRead) {
+                builder.declaration(getType(int.class), "state", stateFieldName());
+                stateRead = true;
+            }
+            builder.startIf().string("state == ").string(formatMask(1 << i)).end().startBlock();
+            builder.tree(createStateBitsetTypedPath(builder, specialization, execType, locals.copy()));
+            builder.end();
+        }
+
+        for (NodeExecutionData execution : node.getChildExecutions()) {
+            if (locals.getValue(execution) == null) {
+                LocalVariable var = locals.createValue(execution, node.getGenericType(execution)).nextName();
+                builder.tree(createAssignExecuteChild(builder, execution, execType, var, null, locals));
+                locals.setValue(execution, var);
+            }
+        }
+        builder.tree(createCallStateBitsetExecute(builder, execType, locals));
+        return method;
+    }
+
+    /*
+     * A monomorphic node executes its children with the execute methods of the specialized
+     * parameter types, which avoids boxing primitive values on the way to the specialization.
+     */
+    private boolean isStateBitsetTypedPath(SpecializationData specialization) {
+        if (specialization.isFallback()) {
+            return false;
+        }
+        boolean primitive = ElementUtils.isPrimitive(specialization.getReturnType().getType());
+        for (Parameter parameter : specialization.getSignatureParameters()) {
+            TypeMirror type = parameter.getType();
+            if (typeSystem.hasImplicitSourceTypes(type)) {
+                return false;
+            }
+            primitive |= ElementUtils.isPrimitive(type);
+        }
+        return primitive;
+    }
+
+    private CodeTree createStateBitsetTypedPath(CodeTreeBuilder parent, final SpecializationData specialization, final ExecutableTypeData execType, LocalContext locals) {
+        final CodeTreeBuilder builder = parent.create();
+        for (NodeExecutionData execution : node.getChildExecutions()) {
+            if (locals.getValue(execution) == null) {
+                TypeMirror targetType = specialization.findParameterOrDie(execution).getType();
+                LocalVariable var = locals.createValue(execution, targetType).nextName();
+                builder.tree(createAssignExecuteChild(builder, execution, execType, var, null, locals));
+                locals.setValue(execution, var);
+            }
+        }
+
+        final LocalContext evaluatedValues = locals.copy();
+        SpecializationGroup group = SpecializationGroup.create(specialization);
+        SpecializationBody body = new SpecializationBody(false, true) {
+            @Override
+            public CodeTree createBody(SpecializationData s, LocalContext values) {
+                return createStateBitsetTypedCall(builder, s, execType, values, evaluatedValues);
+            }
+        };
+        builder.tree(createGuardAndCast(builder, group, execType, locals, body));
+
+        boolean fallthrough = !group.getGuards().isEmpty();
+        for (TypeGuard typeGuard : group.getTypeGuards()) {
+            LocalVariable value = evaluatedValues.getValue(typeGuard.getSignatureIndex());
+            if (value == null || needsCastTo(value.getTypeMirror(), typeGuard.getType())) {
+                fallthrough = true;
+            }
+        }
+        if (fallthrough) {
+            builder.tree(createCallStateBitsetExecute(builder, execType, evaluatedValues));
+        }
+        return builder.build();
+    }
+
+    private CodeTree createStateBitsetTypedCall(CodeTreeBuilder parent, SpecializationData specialization, ExecutableTypeData forType, LocalContext currentValues, LocalContext evaluatedValues) {
+        CodeTreeBuilder builder = parent.create();
+        CodeTree call = callTemplateMethod(accessParent(null), specialization, currentValues);
+        TypeMirror returnType = specialization.getMethod().getReturnType();
+        if (isVoid(forType.getReturnType())) {
+            builder.statement(call);
+            builder.returnStatement();
+        } else if (isVoid(returnType)) {
+            builder.statement(call);
+            builder.startReturn().defaultValue(forType.getReturnType()).end();
+        } else {
+            builder.startReturn().tree(expectOrCast(returnType, forType, call)).end();
+        }
+        if (specialization.getExceptions().isEmpty()) {
+            return builder.build();
+        }
+
+        TypeMirror[] exceptionTypes = new TypeMirror[specialization.getExceptions().size()];
+        for (int i = 0; i < exceptionTypes.length; i++) {
+            exceptionTypes[i] = specialization.getExceptions().get(i).getJavaClass();
+        }
+        String bit = formatMask(1 << reachableSpecializations.indexOf(specialization));
+        CodeTreeBuilder tryBuilder = parent.create();
+        tryBuilder.startTryBlock();
+        tryBuilder.tree(builder.build());
+        tryBuilder.end().startCatchBlock(exceptionTypes, "ex");
+        tryBuilder.tree(createTransferToInterpreterAndInvalidate());
+        tryBuilder.tree(createCallStateBitsetUpdate(tryBuilder, bit, "0", bit));
+        CodeTreeBuilder callBuilder = tryBuilder.create();
+        callBuilder.startCall(stateBitsetExecuteAndSpecializeName());
+        evaluatedValues.addReferencesTo(callBuilder, FRAME_VALUE);
+        callBuilder.end();
+        if (isVoid(forType.getReturnType())) {
+            tryBuilder.statement(callBuilder.build());
+            tryBuilder.returnStatement();
+        } else {
+            tryBuilder.startReturn().tree(expectOrCast(genericType, forType, callBuilder.build())).end();
+        }
+        tryBuilder.end();
+        return tryBuilder.build();
+    }
+
+    private CodeTree createCallStateBitsetExecute(CodeTreeBuilder parent, ExecutableTypeData forType, LocalContext currentValues) {
+        CodeTreeBuilder callBuilder = parent.create();
+        callBuilder.startCall(stateBitsetExecuteName());
+        currentValues.addReferencesTo(callBuilder, FRAME_VALUE);
+        callBuilder.end();
+
+        CodeTreeBuilder builder = parent.create();
+        if (isVoid(forType.getReturnType())) {
+            builder.statement(callBuilder.build());
+            builder.returnStatement();
+        } else {
+            builder.startReturn().tree(expectOrCast(genericType, forType, callBuilder.build())).end();
+        }
+        return builder.build();
+    }
+
+    private CodeExecutableElement createStateBitsetExecute() {
+        LocalContext locals = LocalContext.load(this, createSpecializationNodeSignature(node.getSignatureSize()), Integer.MAX_VALUE);
+        CodeExecutableElement method = locals.createMethod(modifiers(PRIVATE), genericType, stateBitsetExecuteName(), Integer.MAX_VALUE, FRAME_VALUE);
+
+        final CodeTreeBuilder builder = method.createBuilder();
+        final LocalContext originalValues = locals.copy();
+        builder.declaration(getType(int.class), "state", stateFieldName());
+        SpecializationBody body = new SpecializationBody(false, true) {
+            @Override
+            public CodeTree createBody(SpecializationData s, LocalContext values) {
+                return createStateBitsetCall(builder, s, values, originalValues, true);
+            }
+        };
+        for (int i = 0; i < reachableSpecializations.size(); i++) {
+            SpecializationData specialization = reachableSpecializations.get(i);
+            LocalContext values = locals.copy();
+            builder.startIf().string("(state & ").string(formatMask(1 << i)).string(") != 0").end().startBlock();
+            if (specialization.isFallback()) {
+                builder.startIf().startCall(stateBitsetFallbackGuardName());
+                values.addReferencesTo(builder, FRAME_VALUE);
+                builder.end().end().startBlock();
+                builder.tree(createStateBitsetCall(builder, specialization, values, originalValues, true));
+                builder.end();
+            } else {
+                builder.tree(createGuardAndCast(builder, SpecializationGroup.create(specialization), null, values, body));
+            }
+            builder.end();
+        }
+        builder.tree(createTransferToInterpreterAndInvalidate());
+        builder.startReturn().startCall(stateBitsetExecuteAndSpecializeName());
+        locals.addReferencesTo(builder, FRAME_VALUE);
+        builder.end().end();
+        return method;
+    }
+
+    private CodeExecutableElement createStateBitsetExecuteAndSpecialize() {
+        LocalContext locals = LocalContext.load(this, createSpecializationNodeSignature(node.getSignatureSize()), Integer.MAX_VALUE);
+        CodeExecutableElement method = locals.createMethod(modifiers(PRIVATE), genericType, stateBitsetExecuteAndSpecializeName(), Integer.MAX_VALUE, FRAME_VALUE);
+
+        final CodeTreeBuilder builder = method.createBuilder();
+        final LocalContext originalValues = locals.copy();
+        SpecializationBody body = new SpecializationBody(false, true) {
+            @Override
+            public CodeTree createBody(SpecializationData s, LocalContext values) {
+                CodeTreeBuilder activate = builder.create();
+                String replacedMask = formatMask(createReplacedMask(s));
+                String bit = formatMask(1 << reachableSpecializations.indexOf(s));
+                activate.tree(createCallStateBitsetUpdate(activate, replacedMask, bit, replacedMask));
+                activate.tree(createStateBitsetCall(activate, s, values, originalValues, false));
+                return activate.build();
+            }
+        };
+        if (createStateBitsetGuards(builder, locals, true, body)) {
+            builder.tree(createThrowUnsupported(locals));
+        }
+        return method;
+    }
+
+    /*
+     * Creates the method that clears and sets state bits and adds exclude bits. Like the insertion
+     * of specialization nodes, it updates the fields under the tree lock, so that concurrent
+     * specializations of the same node do not lose each other's bits.
+     */
+    private CodeExecutableElement createStateBitsetUpdate(CodeTypeElement nodeClass) {
+        boolean hasExclude = createExcludeMask() != 0;
+        CodeTypeElement update = createClass(node, null, modifiers(PRIVATE, STATIC, FINAL), stateBitsetUpdateTypeName(), null);
+        update.getImplements().add(getType(Runnable.class));
+        update.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), nodeClass.asType(), "node"));
+        update.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), getType(int.class), "clear"));
+        update.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), getType(int.class), "set"));
+        if (hasExclude) {
+            update.add(new CodeVariableElement(modifiers(PRIVATE, FINAL), getType(int.class), "exclude"));
+        }
+        update.add(GeneratorUtils.createConstructorUsingFields(modifiers(), update));
+
+        CodeExecutableElement run = new CodeExecutableElement(modifiers(PUBLIC), getType(void.class), "run");
+        run.getAnnotationMirrors().add(new CodeAnnotationMirror(context.getDeclaredType(Override.class)));
+        CodeTreeBuilder runBuilder = run.createBuilder();
+        if (hasExclude) {
+            runBuilder.startStatement().string("node.").string(excludeFieldName()).string(" = node.").string(excludeFieldName()).string(" | exclude").end();
+        }
+        runBuilder.startStatement().string("node.").string(stateFieldName()).string(" = (node.").string(stateFieldName()).string(" & ~clear) | set").end();
+        update.add(run);
+        nodeClass.add(update);
+
+        CodeExecutableElement method = new CodeExecutableElement(modifiers(PRIVATE), getType(void.class), stateBitsetUpdateName());
+        method.addParameter(new CodeVariableElement(getType(int.class), "clear"));
+        method.addParameter(new CodeVariableElement(getType(int.class), "set"));
+        if (hasExclude) {
+            method.addParameter(new CodeVariableElement(getType(int.class), "exclude"));
+        }
+        CodeTreeBuilder builder = method.createBuilder();
+        builder.startStatement().startCall("atomic").startNew(update.asType()).string("this").string("clear").string("set");
+        if (hasExclude) {
+            builder.string("exclude");
+        }
+        builder.end().end().end();
+        return method;
+    }
+
+    private CodeTree createCallStateBitsetUpdate(CodeTreeBuilder parent, String clearMask, String setMask, String excludeMask) {
+        CodeTreeBuilder builder = parent.create();
+        builder.startStatement().startCall(stateBitsetUpdateName()).string(clearMask).string(setMask);
+        if (createExcludeMask() != 0) {
+            builder.string(excludeMask);
+        }
+        builder.end().end();
+        return builder.build();
+    }
+
+    private CodeExecutableElement createStateBitsetFallbackGuard() {
+        SpecializationData fallback = reachableSpecializations.get(reachableSpecializations.size() - 1);
+        if (!fallback.isFallback()) {
+            return null;
+        }
+        LocalContext locals = LocalContext.load(this, createSpecializationNodeSignature(node.getSignatureSize()), Integer.MAX_VALUE);
+        CodeExecutableElement method = locals.createMethod(modifiers(PRIVATE), getType(boolean.class), stateBitsetFallbackGuardName(), Integer.MAX_VALUE, FRAME_VALUE);
+
+        final CodeTreeBuilder builder = method.createBuilder();
+        SpecializationBody body = new SpecializationBody(false, true) {
+            @Override
+            public CodeTree createBody(SpecializationData s, LocalContext values) {
+                return builder.create().returnFalse().build();
+            }
+        };
+        if (createStateBitsetGuards(builder, locals, false, body)) {
+            builder.returnTrue();
+        }
+        return method;
+    }
+
+    /*
+     * Checks the guards of all reachable specializations in declaration order and returns false
+     * if the code after the checks is not reachable.
+     */
+    private boolean createStateBitsetGuards(CodeTreeBuilder builder, LocalContext locals, boolean includeFallback, SpecializationBody body) {
+        int excludeMask = createExcludeMask();
+        if (excludeMask != 0) {
+            builder.declaration(getType(int.class), "exclude", excludeFieldName());
+        }
+        for (int i = 0; i < reachableSpecializations.size(); i++) {
+            SpecializationData specialization = reachableSpecializations.get(i);
+            if (specialization.isFallback() && !includeFallback) {
+                continue;
+            }
+            SpecializationGroup group = SpecializationGroup.create(specialization);
+            boolean excluded = (excludeMask & (1 << i)) != 0;
+            if (excluded) {
+                builder.startIf().string("(exclude & ").string(formatMask(1 << i)).string(") == 0").end().startBlock();
+            }
+            builder.tree(createGuardAndCast(builder, group, null, locals.copy(), body));
+            if (excluded) {
+                builder.end();
+            }
+            if (!hasFallthrough(group, genericType, locals, false, null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CodeTree createStateBitsetCall(CodeTreeBuilder parent, SpecializationData specialization, LocalContext currentValues, LocalContext originalValues, boolean fastPath) {
+        CodeTreeBuilder builder = parent.create();
+        CodeTree call = callTemplateMethod(accessParent(null), specialization, currentValues);
+        if (isVoid(specialization.getMethod().getReturnType())) {
+            builder.statement(call);
+            builder.returnNull();
+        } else {
+            builder.startReturn().tree(call).end();
+        }
+        if (specialization.getExceptions().isEmpty()) {
+            return builder.build();
+        }
+
+        TypeMirror[] exceptionTypes = new TypeMirror[specialization.getExceptions().size()];
+        for (int i = 0; i < exceptionTypes.length; i++) {
+            exceptionTypes[i] = specialization.getExceptions().get(i).getJavaClass();
+        }
+        String bit = formatMask(1 << reachableSpecializations.indexOf(specialization));
+        CodeTreeBuilder tryBuilder = parent.create();
+        tryBuilder.startTryBlock();
+        tryBuilder.tree(builder.build());
+        tryBuilder.end().startCatchBlock(exceptionTypes, "ex");
+        if (fastPath) {
+            tryBuilder.tree(createTransferToInterpreterAndInvalidate());
+        }
+        tryBuilder.tree(createCallStateBitsetUpdate(tryBuilder, bit, "0", bit));
+        tryBuilder.startReturn().startCall(stateBitsetExecuteAndSpecializeName());
+        originalValues.addReferencesTo(tryBuilder, FRAME_VALUE);
+        tryBuilder.end().end();
+        tryBuilder.end();
+        return tryBuilder.build();
+    }
+
+    /*
+     * Returns the state bits of the reachable specializations that are replaced by the given
+     * specialization.
+     */
+    private int createReplacedMask(SpecializationData specialization) {
+        int mask = 0;
+        for (int i = 0; i < reachableSpecializations.size(); i++) {
+            if (reachableSpecializations.get(i).getExcludedBy().contains(specialization)) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /*
+     * Returns the state bits of the reachable specializations that may be excluded, either because
+     * another specialization replaces them or because they declare rewrite exceptions.
+     */
+    private int createExcludeMask() {
+        int mask = 0;
+        for (int i = 0; i < reachableSpecializations.size(); i++) {
+            if (mayBeExcluded(reachableSpecializations.get(i))) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    private static String formatMask(int mask) {
+        return "0b" + Integer.toBinaryString(mask);
+    }
+
+    private static String stateBitsetExecuteName() {
+        return "execute" + NAME_SUFFIX;
+    }
+
+    private static String stateBitsetExecuteAndSpecializeName() {
+        return "executeAndSpecialize" + NAME_SUFFIX;
+    }
+
+    private static String stateBitsetUpdateName() {
+        return "updateState" + NAME_SUFFIX;
+    }
+
+    private static String stateBitsetUpdateTypeName() {
+        return "UpdateState" + NAME_SUFFIX;
+    }
+
+    private static String stateBitsetFallbackGuardName() {
+        return "fallbackGuard" + NAME_SUFFIX;
+    }
+
     private boolean needsPolymorphic() {
         int signatureSize = node.getSignatureSize();
         boolean allEvaluated = true;
@@ -772,6 +1232,15 @@ public class NodeGenFactory {
         CodeTreeBuilder builder = executable.createBuilder();
         if (singleSpecializable) {
             builder.startReturn().staticReference(getType(NodeCost.class), "MONOMORPHIC").end().end();
+        } else if (stateBitsets) {
+            builder.declaration(getType(int.class), "state", stateFieldName());
+            builder.startIf().string("state == 0").end().startBlock();
+            builder.startReturn().staticReference(getType(NodeCost.class), "UNINITIALIZED").end();
+            builder.end().startElseIf().string("(state & (state - 1)) == 0").end().startBlock();
+            builder.startReturn().staticReference(getType(NodeCost.class), "MONOMORPHIC").end();
+            builder.end().startElseBlock();
+            builder.startReturn().staticReference(getType(NodeCost.class), "POLYMORPHIC").end();
+            builder.end();
         } else {
             builder.startReturn().startCall(specializationStartFieldName(), "getNodeCost").end().end();
         }
@@ -1606,6 +2075,8 @@ public class NodeGenFactory {
     private CodeTree createCallNext(CodeTreeBuilder parent, ExecutableTypeData currentType, ExecutableTypeData callType, LocalContext currentValues) {
         if (singleSpecializable) {
             return createThrowUnsupported(currentValues);
+        } else if (stateBitsets) {
+            return createCallStateBitsetExecute(parent, currentType, currentValues);
         }
         CodeTreeBuilder callBuilder = parent.create();
         callBuilder.tree(createCallDelegateExecute(callBuilder, CodeTreeBuilder.singleString("getNext()"), currentValues, currentType, callType));
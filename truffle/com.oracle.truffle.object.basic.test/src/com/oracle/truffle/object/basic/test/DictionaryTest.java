@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.object.basic.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.HiddenKey;
+import com.oracle.truffle.api.object.Layout;
+import com.oracle.truffle.api.object.ObjectType;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.object.ObjectStorageOptions;
+import com.oracle.truffle.object.basic.DefaultLayoutFactory;
+
+public class DictionaryTest {
+
+    private static final int KEYS = ObjectStorageOptions.DictionaryPropertyThreshold * 2;
+
+    private final Layout layout = new DefaultLayoutFactory().createLayout(Layout.newLayout().setDictionaryMode(true));
+    private final Shape rootShape = layout.createShape(new ObjectType());
+
+    private DynamicObject newObject(int keyCount) {
+        DynamicObject object = layout.newInstance(rootShape);
+        for (int i = 0; i < keyCount; i++) {
+            object.define("key" + i, i);
+        }
+        return object;
+    }
+
+    @Test
+    public void testSwitchToDictionary() {
+        DynamicObject object = newObject(ObjectStorageOptions.DictionaryPropertyThreshold);
+        Assert.assertFalse(object.getShape().isDictionary());
+        object.define("last", "value");
+        Assert.assertTrue(object.getShape().isDictionary());
+        Assert.assertEquals(ObjectStorageOptions.DictionaryPropertyThreshold + 1, object.size());
+        Assert.assertEquals("value", object.get("last"));
+        for (int i = 0; i < ObjectStorageOptions.DictionaryPropertyThreshold; i++) {
+            Assert.assertEquals(i, object.get("key" + i));
+        }
+    }
+
+    @Test
+    public void testDictionaryOperations() {
+        DynamicObject object = newObject(KEYS);
+        Assert.assertTrue(object.getShape().isDictionary());
+        Assert.assertEquals(KEYS, object.size());
+
+        Assert.assertTrue(object.containsKey("key3"));
+        Assert.assertFalse(object.containsKey("missing"));
+        Assert.assertNull(object.get("missing"));
+        Assert.assertEquals("default", object.get("missing", "default"));
+
+        Assert.assertTrue(object.set("key3", "three"));
+        Assert.assertEquals("three", object.get("key3"));
+        Assert.assertFalse(object.set("missing", 1));
+
+        object.define("key4", 4.5);
+        Assert.assertEquals(4.5, object.get("key4"));
+        object.define("key5", null);
+        Assert.assertTrue(object.containsKey("key5"));
+        Assert.assertNull(object.get("key5", "default"));
+
+        Assert.assertTrue(object.delete("key6"));
+        Assert.assertFalse(object.delete("key6"));
+        Assert.assertFalse(object.containsKey("key6"));
+        Assert.assertEquals(KEYS - 1, object.size());
+    }
+
+    @Test
+    public void testHiddenPropertiesAreKept() {
+        HiddenKey hidden = new HiddenKey("hidden");
+        DynamicObject object = layout.newInstance(rootShape);
+        object.define(hidden, "secret");
+        for (int i = 0; i < KEYS; i++) {
+            object.define("key" + i, i);
+        }
+        Assert.assertTrue(object.getShape().isDictionary());
+        Assert.assertEquals("secret", object.get(hidden));
+        Assert.assertEquals(KEYS, object.size());
+    }
+
+    @Test
+    public void testDictionaryShapeIsShared() {
+        DynamicObject object1 = newObject(KEYS);
+        DynamicObject object2 = newObject(KEYS + 1);
+        Assert.assertSame(object1.getShape(), object2.getShape());
+        Assert.assertEquals(KEYS, object1.size());
+        Assert.assertEquals(KEYS + 1, object2.size());
+
+        object1.define("only1", 1);
+        Assert.assertFalse(object2.containsKey("only1"));
+        Assert.assertSame(object1.getShape(), object2.getShape());
+    }
+
+    @Test
+    public void testDictionaryModeIsOptIn() {
+        Layout defaultLayout = new DefaultLayoutFactory().createLayout(Layout.newLayout());
+        DynamicObject object = defaultLayout.newInstance(defaultLayout.createShape(new ObjectType()));
+        for (int i = 0; i < KEYS; i++) {
+            object.define("key" + i, i);
+        }
+        Assert.assertFalse(object.getShape().isDictionary());
+        Assert.assertEquals(KEYS, object.getShape().getPropertyCount());
+        Assert.assertEquals(KEYS, object.size());
+    }
+
+    @Test
+    public void testKeyList() {
+        HiddenKey hidden = new HiddenKey("hidden");
+        DynamicObject object = layout.newInstance(rootShape);
+        object.define("first", 0);
+        object.define(hidden, "secret");
+        for (int i = 0; i < KEYS; i++) {
+            object.define("key" + i, i);
+        }
+        object.delete("key0");
+        Assert.assertTrue(object.getShape().isDictionary());
+
+        List<Object> expected = new ArrayList<>();
+        expected.add("first");
+        for (int i = 1; i < KEYS; i++) {
+            expected.add("key" + i);
+        }
+        Assert.assertEquals(expected, object.getKeyList());
+        Assert.assertEquals(object.size(), object.getKeyList().size());
+    }
+
+    @Test
+    public void testCopyHasOwnDictionary() {
+        DynamicObject object = newObject(KEYS);
+        DynamicObject copy = object.copy(object.getShape());
+        Assert.assertTrue(copy.getShape().isDictionary());
+        Assert.assertEquals(object.size(), copy.size());
+
+        Assert.assertTrue(copy.set("key1", "changed"));
+        copy.define("onlyInCopy", 1);
+        Assert.assertTrue(copy.delete("key2"));
+
+        Assert.assertEquals(1, object.get("key1"));
+        Assert.assertFalse(object.containsKey("onlyInCopy"));
+        Assert.assertEquals(2, object.get("key2"));
+        Assert.assertEquals(KEYS, object.size());
+        Assert.assertEquals("changed", copy.get("key1"));
+        Assert.assertEquals(KEYS, copy.size());
+    }
+}
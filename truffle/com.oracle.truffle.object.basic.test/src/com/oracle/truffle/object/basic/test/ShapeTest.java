@@ -22,9 +22,13 @@
  */
 package com.oracle.truffle.object.basic.test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Layout;
 import com.oracle.truffle.api.object.Layout.ImplicitCast;
 import com.oracle.truffle.api.object.ObjectType;
@@ -69,6 +73,64 @@ public class ShapeTest {
                         "\n}", shapeWithExtArray.toString());
     }
 
+    @Test
+    public void testManyProperties() {
+        Layout layout = new DefaultLayoutFactory().createLayout(Layout.newLayout());
+        DynamicObject object = layout.newInstance(layout.createShape(new ObjectType()));
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // every fourth key is one of the keys that share the same hash code
+            Object key = i % 4 == 3 ? new CollidingKey(i) : i % 2 == 0 ? "p" + i : (Object) i;
+            keys.add(key);
+            object.define(key, i);
+            for (int j = 0; j <= i; j += 37) {
+                Assert.assertEquals(j, object.get(keys.get(j)));
+            }
+        }
+        Shape shape = object.getShape();
+        Assert.assertEquals(keys, shape.getKeyList());
+        for (int i = 0; i < keys.size(); i++) {
+            Property property = shape.getProperty(keys.get(i));
+            Assert.assertEquals(keys.get(i), property.getKey());
+            Assert.assertEquals(property, shape.getPropertyList().get(i));
+        }
+        Assert.assertNull(shape.getProperty("missing"));
+        Assert.assertNull(shape.getProperty(new CollidingKey(-1)));
+        Assert.assertFalse(shape.hasProperty(null));
+
+        Property removed = shape.getProperty(keys.get(100));
+        Shape removedShape = shape.removeProperty(removed);
+        Assert.assertFalse(removedShape.hasProperty(keys.get(100)));
+        Assert.assertEquals(keys.size() - 1, removedShape.getPropertyCount());
+        for (int i = 0; i < keys.size(); i++) {
+            Assert.assertEquals(i != 100, removedShape.hasProperty(keys.get(i)));
+        }
+
+        Property replaced = shape.getProperty(keys.get(200));
+        Property replacement = replaced.copyWithFlags(1);
+        Shape replacedShape = shape.replaceProperty(replaced, replacement);
+        Assert.assertSame(replacement, replacedShape.getProperty(keys.get(200)));
+        Assert.assertEquals(keys, replacedShape.getKeyList());
+    }
+
+    private static final class CollidingKey {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CollidingKey && ((CollidingKey) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
     private static String id(Shape shape) {
         return "@" + Integer.toHexString(shape.hashCode());
     }
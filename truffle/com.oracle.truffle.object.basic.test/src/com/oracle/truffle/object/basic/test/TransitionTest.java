@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.object.basic.test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.Layout;
+import com.oracle.truffle.api.object.ObjectType;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.object.ShapeImpl;
+import com.oracle.truffle.object.basic.DefaultLayoutFactory;
+
+public class TransitionTest {
+
+    private final Layout layout = new DefaultLayoutFactory().createLayout(Layout.newLayout());
+
+    @Test
+    public void testCachedTransitions() {
+        for (int count : new int[]{1, 2, 8, 9, 100}) {
+            Shape rootShape = layout.createShape(new ObjectType());
+            List<Shape> shapes = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                shapes.add(rootShape.defineProperty("key" + i, i, 0));
+            }
+            for (int i = 0; i < count; i++) {
+                Assert.assertSame(shapes.get(i), rootShape.defineProperty("key" + i, i, 0));
+            }
+            Assert.assertEquals(count, ((ShapeImpl) rootShape).getTransitionMapForRead().size());
+            Assert.assertFalse(rootShape.isLeaf());
+        }
+    }
+
+    @Test
+    public void testReachableShapeIsKept() {
+        Shape rootShape = layout.createShape(new ObjectType());
+        Shape shape = rootShape.defineProperty("a", 1, 0);
+        for (int i = 0; i < 100; i++) {
+            rootShape.defineProperty("tmp" + i, i, 0);
+        }
+        gc();
+        Assert.assertSame(shape, rootShape.defineProperty("a", 1, 0));
+        Assert.assertTrue(rootShape.hasTransitionWithKey("a"));
+    }
+
+    @Test
+    public void testUnreachableShapesAreCollected() {
+        Shape rootShape = layout.createShape(new ObjectType());
+        Shape kept = rootShape.defineProperty("kept", 1, 0);
+        List<WeakReference<Shape>> created = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            Shape shape = rootShape.defineProperty("key" + i, i, 0);
+            created.add(new WeakReference<>(shape));
+            created.add(new WeakReference<>(shape.defineProperty("nested" + i, i, 0)));
+        }
+        for (int attempt = 0; attempt < 20 && !allCleared(created); attempt++) {
+            gc();
+        }
+        Assert.assertTrue("unreachable shapes were not collected", allCleared(created));
+        Assert.assertTrue(((ShapeImpl) rootShape).getTransitionMapForRead().size() < 1000);
+        Assert.assertSame(kept, rootShape.defineProperty("kept", 1, 0));
+    }
+
+    private static boolean allCleared(List<WeakReference<Shape>> references) {
+        for (WeakReference<Shape> reference : references) {
+            if (reference.get() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void gc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+    }
+}
@@ -36,11 +36,16 @@ import java.util.Set;
 
 /**
  * Implementation of {@link PropertyMap} as a reverse-order cons (snoc) list.
+ *
+ * Maps with at least {@link ObjectStorageOptions#PropertyMapIndexThreshold} properties additionally
+ * keep a {@link PropertyTrie hash trie} of their properties for constant time key lookup. The trie
+ * is derived from the trie of the parent map, so maps along a transition chain share it.
  */
 final class ConsListPropertyMap extends PropertyMap {
     private final ConsListPropertyMap car;
     private final Property cdr;
     private final int size;
+    private final PropertyTrie index;
 
     private static final ConsListPropertyMap EMPTY = new ConsListPropertyMap();
 
@@ -48,12 +53,25 @@ final class ConsListPropertyMap extends PropertyMap {
         this.car = null;
         this.cdr = null;
         this.size = 0;
+        this.index = null;
     }
 
     private ConsListPropertyMap(ConsListPropertyMap parent, Property added) {
         this.car = Objects.requireNonNull(parent);
         this.cdr = added;
         this.size = parent.size + 1;
+        this.index = size >= ObjectStorageOptions.PropertyMapIndexThreshold ? parent.getIndex().put(added) : null;
+    }
+
+    private PropertyTrie getIndex() {
+        if (index != null) {
+            return index;
+        }
+        PropertyTrie trie = PropertyTrie.empty();
+        for (Iterator<Property> iterator = orderedValueIterator(); iterator.hasNext();) {
+            trie = trie.put(iterator.next());
+        }
+        return trie;
     }
 
     public static ConsListPropertyMap empty() {
@@ -69,12 +87,7 @@ final class ConsListPropertyMap extends PropertyMap {
     }
 
     public boolean containsKey(Object key) {
-        for (Map.Entry<Object, Property> entry : reverseOrderEntrySet()) {
-            if (entry.getKey().equals(key)) {
-                return true;
-            }
-        }
-        return false;
+        return get(key) != null;
     }
 
     public boolean containsValue(Object value) {
@@ -87,6 +100,9 @@ final class ConsListPropertyMap extends PropertyMap {
     }
 
     public Property get(Object key) {
+        if (index != null && key != null) {
+            return index.get(key);
+        }
         ConsListPropertyMap current = this;
         while (!current.isEmpty()) {
             Property p = current.getLastProperty();
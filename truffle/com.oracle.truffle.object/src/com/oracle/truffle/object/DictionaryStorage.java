@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.object;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.object.HiddenKey;
+
+/**
+ * Hash table that holds the properties of an object in dictionary mode. The table is stored in a
+ * hidden property of a dictionary shape and replaces the per-property shape transitions and
+ * extension array slots of objects with too many properties.
+ *
+ * @see ShapeImpl#isDictionary()
+ * @see ObjectStorageOptions#DictionaryPropertyThreshold
+ */
+final class DictionaryStorage {
+    static final HiddenKey KEY = new HiddenKey("dictionary");
+
+    private final Map<Object, Object> values;
+    /** Flags of properties with non-zero flags; lazily initialized. */
+    private Map<Object, Integer> flags;
+    /** Number of {@link HiddenKey hidden} properties, which are not counted by {@link #size()}. */
+    private int hiddenCount;
+
+    DictionaryStorage(int initialCapacity) {
+        this.values = new LinkedHashMap<>(Math.max(16, initialCapacity * 2));
+    }
+
+    private DictionaryStorage(DictionaryStorage original) {
+        this.values = new LinkedHashMap<>(original.values);
+        this.flags = original.flags != null ? new HashMap<>(original.flags) : null;
+        this.hiddenCount = original.hiddenCount;
+    }
+
+    /**
+     * Returns an independent copy of this table for a copy of the object that owns it.
+     */
+    DictionaryStorage copy() {
+        return new DictionaryStorage(this);
+    }
+
+    Object get(Object key, Object defaultValue) {
+        Object value = values.get(key);
+        if (value != null || values.containsKey(key)) {
+            return value;
+        }
+        return defaultValue;
+    }
+
+    boolean containsKey(Object key) {
+        return values.containsKey(key);
+    }
+
+    boolean set(Object key, Object value) {
+        if (values.containsKey(key)) {
+            values.put(key, value);
+            return true;
+        }
+        return false;
+    }
+
+    void define(Object key, Object value, int propertyFlags) {
+        if (!values.containsKey(key) && key instanceof HiddenKey) {
+            hiddenCount++;
+        }
+        values.put(key, value);
+        setFlags(key, propertyFlags);
+    }
+
+    boolean delete(Object key) {
+        if (values.containsKey(key)) {
+            values.remove(key);
+            setFlags(key, 0);
+            if (key instanceof HiddenKey) {
+                hiddenCount--;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    int getFlags(Object key) {
+        Integer propertyFlags = flags != null ? flags.get(key) : null;
+        return propertyFlags != null ? propertyFlags : 0;
+    }
+
+    void setFlags(Object key, int propertyFlags) {
+        if (propertyFlags != 0) {
+            if (flags == null) {
+                flags = new HashMap<>();
+            }
+            flags.put(key, propertyFlags);
+        } else if (flags != null) {
+            flags.remove(key);
+        }
+    }
+
+    /**
+     * Adds the keys of all non-hidden properties in insertion order.
+     */
+    void addKeys(List<Object> keys) {
+        for (Object key : values.keySet()) {
+            if (!(key instanceof HiddenKey)) {
+                keys.add(key);
+            }
+        }
+    }
+
+    int size() {
+        return values.size() - hiddenCount;
+    }
+}
@@ -22,6 +22,9 @@
  */
 package com.oracle.truffle.object;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.interop.ForeignAccess;
 import com.oracle.truffle.api.object.DynamicObject;
@@ -178,7 +181,7 @@ public abstract class DynamicObjectImpl extends DynamicObject implements Cloneab
 
     @TruffleBoundary
     public boolean changeFlags(Object key, int newFlags) {
-        Shape oldShape = getShape();
+        ShapeImpl oldShape = getShape();
         Property existing = oldShape.getProperty(key);
         if (existing != null) {
             if (existing.getFlags() != newFlags) {
@@ -187,6 +190,9 @@ public abstract class DynamicObjectImpl extends DynamicObject implements Cloneab
                 this.setShape(newShape);
             }
             return true;
+        } else if (oldShape.isDictionary() && oldShape.getDictionary(this).containsKey(key)) {
+            oldShape.getDictionary(this).setFlags(key, newFlags);
+            return true;
         } else {
             return false;
         }
@@ -218,9 +224,12 @@ public abstract class DynamicObjectImpl extends DynamicObject implements Cloneab
     @Override
     @TruffleBoundary
     public Object get(Object key, Object defaultValue) {
-        Property existing = getShape().getProperty(key);
+        ShapeImpl currentShape = getShape();
+        Property existing = currentShape.getProperty(key);
         if (existing != null) {
             return existing.get(this, false);
+        } else if (currentShape.isDictionary()) {
+            return currentShape.getDictionary(this).get(key, defaultValue);
         } else {
             return defaultValue;
         }
@@ -229,10 +238,13 @@ public abstract class DynamicObjectImpl extends DynamicObject implements Cloneab
     @Override
     @TruffleBoundary
     public boolean set(Object key, Object value) {
-        Property existing = getShape().getProperty(key);
+        ShapeImpl currentShape = getShape();
+        Property existing = currentShape.getProperty(key);
         if (existing != null) {
             existing.setGeneric(this, value, null);
             return true;
+        } else if (currentShape.isDictionary()) {
+            return currentShape.getDictionary(this).set(key, value);
         } else {
             return false;
         }
@@ -259,6 +271,8 @@ public abstract class DynamicObjectImpl extends DynamicObject implements Cloneab
         if (existing != null) {
             oldShape.getLayout().getStrategy().objectRemoveProperty(this, existing, oldShape);
             return true;
+        } else if (oldShape.isDictionary()) {
+            return oldShape.getDictionary(this).delete(key);
         } else {
             return false;
         }
@@ -266,7 +280,22 @@ public abstract class DynamicObjectImpl extends DynamicObject implements Cloneab
 
     @Override
     public int size() {
-        return getShape().getPropertyCount();
+        ShapeImpl currentShape = getShape();
+        if (currentShape.isDictionary()) {
+            return currentShape.getPropertyCount() + currentShape.getDictionary(this).size();
+        }
+        return currentShape.getPropertyCount();
+    }
+
+    @Override
+    public List<Object> getKeyList() {
+        ShapeImpl currentShape = getShape();
+        if (currentShape.isDictionary()) {
+            List<Object> keys = new ArrayList<>(currentShape.getKeyList());
+            currentShape.getDictionary(this).addKeys(keys);
+            return keys;
+        }
+        return currentShape.getKeyList();
     }
 
     @Override
@@ -281,7 +310,12 @@ public abstract class DynamicObjectImpl extends DynamicObject implements Cloneab
 
     @Override
     public final DynamicObject copy(Shape currentShape) {
-        return cloneWithShape(currentShape);
+        DynamicObject clone = cloneWithShape(currentShape);
+        ShapeImpl shape = (ShapeImpl) currentShape;
+        if (shape.isDictionary()) {
+            shape.dictionaryProperty.setInternal(clone, shape.getDictionary(this).copy());
+        }
+        return clone;
     }
 
     @Override
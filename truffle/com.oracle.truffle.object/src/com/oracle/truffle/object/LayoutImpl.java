@@ -38,10 +38,16 @@ public abstract class LayoutImpl extends Layout {
     protected final LayoutStrategy strategy;
     protected final Class<? extends DynamicObject> clazz;
     private final int allowedImplicitCasts;
+    private final boolean dictionaryMode;
 
     protected LayoutImpl(EnumSet<ImplicitCast> allowedImplicitCasts, Class<? extends DynamicObjectImpl> clazz, LayoutStrategy strategy) {
+        this(allowedImplicitCasts, clazz, strategy, false);
+    }
+
+    protected LayoutImpl(EnumSet<ImplicitCast> allowedImplicitCasts, Class<? extends DynamicObjectImpl> clazz, LayoutStrategy strategy, boolean dictionaryMode) {
         this.strategy = strategy;
         this.clazz = clazz;
+        this.dictionaryMode = dictionaryMode;
 
         this.allowedImplicitCasts = (allowedImplicitCasts.contains(ImplicitCast.IntToDouble) ? INT_TO_DOUBLE_FLAG : 0) | (allowedImplicitCasts.contains(ImplicitCast.IntToLong) ? INT_TO_LONG_FLAG : 0);
     }
@@ -72,6 +78,13 @@ public abstract class LayoutImpl extends Layout {
         return (allowedImplicitCasts & INT_TO_LONG_FLAG) != 0;
     }
 
+    /**
+     * Returns {@code true} if objects of this layout may switch to dictionary mode.
+     */
+    public boolean isDictionaryModeAllowed() {
+        return dictionaryMode;
+    }
+
     protected abstract boolean hasObjectExtensionArray();
 
     protected abstract boolean hasPrimitiveExtensionArray();
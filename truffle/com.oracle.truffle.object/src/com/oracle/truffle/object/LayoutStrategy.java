@@ -23,12 +23,14 @@
 package com.oracle.truffle.object;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.ListIterator;
 
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Location;
 import com.oracle.truffle.api.object.LocationFactory;
+import com.oracle.truffle.api.object.LocationModifier;
 import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.object.Locations.DeclaredLocation;
@@ -127,6 +129,10 @@ public abstract class LayoutStrategy {
     protected void objectDefineProperty(DynamicObjectImpl object, Object key, Object value, int flags, LocationFactory locationFactory, ShapeImpl currentShape) {
         ShapeImpl oldShape = currentShape;
         Property oldProperty = oldShape.getProperty(key);
+        if (oldProperty == null && (oldShape.isDictionary() || isDictionaryThresholdReached(oldShape))) {
+            dictionaryDefineProperty(object, key, value, flags, oldShape);
+            return;
+        }
         ShapeImpl newShape = defineProperty(oldShape, key, value, flags, locationFactory, oldProperty);
         if (oldShape == newShape) {
             assert oldProperty.equals(newShape.getProperty(key));
@@ -137,6 +143,43 @@ public abstract class LayoutStrategy {
         }
     }
 
+    protected boolean isDictionaryThresholdReached(ShapeImpl shape) {
+        if (!shape.getLayout().isDictionaryModeAllowed()) {
+            return false;
+        }
+        return shape.getPropertyCount() >= ObjectStorageOptions.DictionaryPropertyThreshold || shape.getDepth() >= ObjectStorageOptions.DictionaryTransitionThreshold;
+    }
+
+    protected void dictionaryDefineProperty(DynamicObjectImpl object, Object key, Object value, int flags, ShapeImpl currentShape) {
+        ShapeImpl dictionaryShape = currentShape.isDictionary() ? currentShape : objectToDictionary(object, currentShape);
+        dictionaryShape.getDictionary(object).define(key, value, flags);
+    }
+
+    /**
+     * Switch the object to dictionary mode, moving all its properties into a hash table.
+     */
+    protected ShapeImpl objectToDictionary(DynamicObjectImpl object, ShapeImpl currentShape) {
+        List<Property> properties = currentShape.getPropertyListInternal(true);
+        DictionaryStorage dictionary = new DictionaryStorage(properties.size());
+        for (Property property : properties) {
+            dictionary.define(property.getKey(), property.get(object, currentShape), property.getFlags());
+        }
+        ShapeImpl dictionaryShape = getDictionaryShape(currentShape);
+        object.setShapeAndResize(currentShape, dictionaryShape);
+        dictionaryShape.dictionaryProperty.setInternal(object, dictionary);
+        return dictionaryShape;
+    }
+
+    /**
+     * Get the dictionary shape with the same root and object type as the given shape.
+     */
+    protected ShapeImpl getDictionaryShape(ShapeImpl shape) {
+        ShapeImpl root = shape.getRoot();
+        ShapeImpl base = root.getObjectType() == shape.getObjectType() ? root : root.changeType(shape.getObjectType());
+        Location location = base.allocator().locationForType(DictionaryStorage.class, EnumSet.of(LocationModifier.NonNull));
+        return base.addProperty(Property.create(DictionaryStorage.KEY, location, 0));
+    }
+
     protected void objectRemoveProperty(DynamicObjectImpl object, Property property, ShapeImpl currentShape) {
         ShapeImpl oldShape = currentShape;
         ShapeImpl newShape = oldShape.removeProperty(property);
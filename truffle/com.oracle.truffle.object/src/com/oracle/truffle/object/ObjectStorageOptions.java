@@ -40,6 +40,14 @@ public final class ObjectStorageOptions {
     /** Allocation of in-object fields. */
     public static final boolean InObjectFields = booleanOption(OPTION_PREFIX + "InObjectFields", true);
 
+    /** Minimum number of properties for which a property map maintains a hash index. */
+    public static final int PropertyMapIndexThreshold = Integer.getInteger(OPTION_PREFIX + "PropertyMapIndexThreshold", 16);
+
+    /** Number of properties at which an object switches to dictionary mode. */
+    public static final int DictionaryPropertyThreshold = Integer.getInteger(OPTION_PREFIX + "DictionaryPropertyThreshold", 1024);
+    /** Number of shape transitions from the root at which an object switches to dictionary mode. */
+    public static final int DictionaryTransitionThreshold = Integer.getInteger(OPTION_PREFIX + "DictionaryTransitionThreshold", 2048);
+
     // Debug options (should be final)
     public static final boolean DebugCounters = booleanOption(OPTION_PREFIX + "DebugCounters", true);
     public static final boolean TraceReshape = booleanOption(OPTION_PREFIX + "TraceReshape", false);
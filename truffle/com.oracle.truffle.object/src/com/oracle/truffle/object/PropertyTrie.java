@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.object;
+
+import com.oracle.truffle.api.object.Property;
+import java.util.Arrays;
+
+/**
+ * Persistent hash array mapped trie of properties, keyed by {@link Property#getKey()}. Adding a
+ * property copies only the nodes on the path to the new entry, so tries of related property maps
+ * share most of their structure.
+ */
+final class PropertyTrie {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_SHIFT = 30;
+
+    private static final PropertyTrie EMPTY = new PropertyTrie(new BitmapNode(0, new Object[0]));
+
+    private final BitmapNode root;
+
+    private PropertyTrie(BitmapNode root) {
+        this.root = root;
+    }
+
+    static PropertyTrie empty() {
+        return EMPTY;
+    }
+
+    Property get(Object key) {
+        return root.get(key, hash(key), 0);
+    }
+
+    /**
+     * Returns a trie that maps the key of the property to the property, replacing any previous
+     * mapping of the key.
+     */
+    PropertyTrie put(Property property) {
+        Object key = property.getKey();
+        return new PropertyTrie((BitmapNode) root.put(property, key, hash(key), 0));
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private abstract static class TrieNode {
+        abstract Property get(Object key, int hash, int shift);
+
+        abstract TrieNode put(Property property, Object key, int hash, int shift);
+    }
+
+    /**
+     * Node with up to 32 children selected by 5 bits of the hash. Each entry is either a
+     * {@link Property} or a nested {@link TrieNode}.
+     */
+    private static final class BitmapNode extends TrieNode {
+        private final int bitmap;
+        private final Object[] entries;
+
+        BitmapNode(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        @Override
+        Property get(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object entry = entries[Integer.bitCount(bitmap & (bit - 1))];
+            if (entry instanceof Property) {
+                Property property = (Property) entry;
+                return key.equals(property.getKey()) ? property : null;
+            }
+            return ((TrieNode) entry).get(key, hash, shift + BITS);
+        }
+
+        @Override
+        TrieNode put(Property property, Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] newEntries = new Object[entries.length + 1];
+                System.arraycopy(entries, 0, newEntries, 0, index);
+                newEntries[index] = property;
+                System.arraycopy(entries, index, newEntries, index + 1, entries.length - index);
+                return new BitmapNode(bitmap | bit, newEntries);
+            }
+            Object entry = entries[index];
+            Object newEntry;
+            if (entry instanceof Property) {
+                Property existing = (Property) entry;
+                Object existingKey = existing.getKey();
+                if (key.equals(existingKey)) {
+                    newEntry = property;
+                } else {
+                    newEntry = merge(existing, hash(existingKey), property, hash, shift + BITS);
+                }
+            } else {
+                newEntry = ((TrieNode) entry).put(property, key, hash, shift + BITS);
+            }
+            Object[] newEntries = entries.clone();
+            newEntries[index] = newEntry;
+            return new BitmapNode(bitmap, newEntries);
+        }
+
+        private static TrieNode merge(Property p1, int hash1, Property p2, int hash2, int shift) {
+            if (shift > MAX_SHIFT) {
+                assert hash1 == hash2;
+                return new CollisionNode(hash1, new Property[]{p1, p2});
+            }
+            int index1 = (hash1 >>> shift) & MASK;
+            int index2 = (hash2 >>> shift) & MASK;
+            if (index1 == index2) {
+                return new BitmapNode(1 << index1, new Object[]{merge(p1, hash1, p2, hash2, shift + BITS)});
+            } else if (index1 < index2) {
+                return new BitmapNode((1 << index1) | (1 << index2), new Object[]{p1, p2});
+            } else {
+                return new BitmapNode((1 << index1) | (1 << index2), new Object[]{p2, p1});
+            }
+        }
+    }
+
+    /**
+     * Leaf node for properties whose keys have the same full hash code.
+     */
+    private static final class CollisionNode extends TrieNode {
+        private final int hash;
+        private final Property[] properties;
+
+        CollisionNode(int hash, Property[] properties) {
+            this.hash = hash;
+            this.properties = properties;
+        }
+
+        @Override
+        Property get(Object key, int h, int shift) {
+            for (Property property : properties) {
+                if (key.equals(property.getKey())) {
+                    return property;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        TrieNode put(Property property, Object key, int h, int shift) {
+            assert h == hash;
+            for (int i = 0; i < properties.length; i++) {
+                if (key.equals(properties[i].getKey())) {
+                    Property[] newProperties = properties.clone();
+                    newProperties[i] = property;
+                    return new CollisionNode(hash, newProperties);
+                }
+            }
+            Property[] newProperties = Arrays.copyOf(properties, properties.length + 1);
+            newProperties[properties.length] = property;
+            return new CollisionNode(hash, newProperties);
+        }
+    }
+}
@@ -22,10 +22,13 @@
  */
 package com.oracle.truffle.object;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -101,16 +104,28 @@ public abstract class ShapeImpl extends Shape {
     protected final int depth;
     protected final int propertyCount;
 
+    /**
+     * The hidden property that holds the {@link DictionaryStorage} of objects in dictionary mode, or
+     * {@code null} if this is not a dictionary shape.
+     */
+    protected final Property dictionaryProperty;
+
     protected final Assumption validAssumption;
     @CompilationFinal protected volatile Assumption leafAssumption;
 
     /**
-     * Shape transition map; lazily initialized.
+     * Shape transitions; lazily initialized. Successor shapes are only weakly referenced, so shapes
+     * that are no longer used by any object or cache can be collected. Holds either {@code null},
+     * a single {@link TransitionEntry}, a small {@link TransitionEntry} array, or a
+     * {@link TransitionMap} for shapes with many transitions.
      *
-     * @see #getTransitionMapForRead()
-     * @see #getTransitionMapForWrite()
+     * @see #queryTransition(Transition)
+     * @see #addTransitionInternal(Transition, ShapeImpl)
      */
-    private volatile Map<Transition, ShapeImpl> transitionMap;
+    private volatile Object transitions;
+
+    /** Maximum number of transitions kept in array form before switching to a map. */
+    private static final int TRANSITION_ARRAY_MAX = 8;
 
     private final Transition transitionFromParent;
 
@@ -142,9 +157,11 @@ public abstract class ShapeImpl extends Shape {
         if (parent != null) {
             this.propertyCount = makePropertyCount(parent, propertyMap);
             this.depth = parent.depth + 1;
+            this.dictionaryProperty = makeDictionaryProperty(parent, propertyMap);
         } else {
             this.propertyCount = 0;
             this.depth = 0;
+            this.dictionaryProperty = null;
         }
 
         this.validAssumption = createValidAssumption();
@@ -182,6 +199,29 @@ public abstract class ShapeImpl extends Shape {
         return parent.propertyCount;
     }
 
+    private static Property makeDictionaryProperty(ShapeImpl parent, PropertyMap propertyMap) {
+        if (parent.dictionaryProperty != null) {
+            return parent.dictionaryProperty;
+        }
+        Property lastProperty = propertyMap.getLastProperty();
+        if (lastProperty != null && lastProperty.getKey() == DictionaryStorage.KEY) {
+            return lastProperty;
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if objects of this shape keep their properties in a hash table.
+     */
+    @Override
+    public final boolean isDictionary() {
+        return dictionaryProperty != null;
+    }
+
+    final DictionaryStorage getDictionary(DynamicObject store) {
+        return (DictionaryStorage) dictionaryProperty.get(store, this);
+    }
+
     @Override
     public final Property getLastProperty() {
         return propertyMap.getLastProperty();
@@ -258,25 +298,74 @@ public abstract class ShapeImpl extends Shape {
     }
 
     private void addTransitionInternal(Transition transition, ShapeImpl next) {
-        getTransitionMapForWrite().put(transition, next);
+        TransitionEntry entry = new TransitionEntry(transition, next);
+        synchronized (getMutex()) {
+            Object trans = transitions;
+            if (trans == null) {
+                invalidateLeafAssumption();
+                transitions = entry;
+            } else if (trans instanceof TransitionMap) {
+                TransitionMap map = (TransitionMap) trans;
+                map.put(entry);
+                if (map.size() >= map.expungeThreshold) {
+                    transitions = packTransitions(map.liveEntries());
+                }
+            } else {
+                List<TransitionEntry> entries = trans instanceof TransitionEntry ? Collections.singletonList((TransitionEntry) trans) : Arrays.asList((TransitionEntry[]) trans);
+                List<TransitionEntry> live = new ArrayList<>(entries.size() + 1);
+                for (TransitionEntry e : entries) {
+                    if (e.get() != null && !e.transition.equals(transition)) {
+                        live.add(e);
+                    }
+                }
+                live.add(entry);
+                transitions = packTransitions(live);
+            }
+        }
     }
 
-    public final Map<Transition, ShapeImpl> getTransitionMapForRead() {
-        return transitionMap != null ? transitionMap : Collections.<Transition, ShapeImpl> emptyMap();
+    /**
+     * Chooses the most compact representation for the given live transitions.
+     */
+    private static Object packTransitions(List<TransitionEntry> live) {
+        assert !live.isEmpty();
+        if (live.size() == 1) {
+            return live.get(0);
+        } else if (live.size() <= TRANSITION_ARRAY_MAX) {
+            return live.toArray(new TransitionEntry[live.size()]);
+        } else {
+            TransitionMap map = new TransitionMap(live.size());
+            for (TransitionEntry e : live) {
+                map.put(e);
+            }
+            return map;
+        }
     }
 
-    private Map<Transition, ShapeImpl> getTransitionMapForWrite() {
-        if (transitionMap != null) {
-            return transitionMap;
+    /**
+     * Returns a snapshot of the transitions whose target shapes are still alive.
+     */
+    public final Map<Transition, ShapeImpl> getTransitionMapForRead() {
+        Object trans = transitions;
+        if (trans == null) {
+            return Collections.<Transition, ShapeImpl> emptyMap();
+        }
+        List<TransitionEntry> entries;
+        if (trans instanceof TransitionEntry) {
+            entries = Collections.singletonList((TransitionEntry) trans);
+        } else if (trans instanceof TransitionEntry[]) {
+            entries = Arrays.asList((TransitionEntry[]) trans);
         } else {
-            synchronized (getMutex()) {
-                if (transitionMap != null) {
-                    return transitionMap;
-                }
-                invalidateLeafAssumption();
-                return transitionMap = new ConcurrentHashMap<>();
+            entries = ((TransitionMap) trans).entries();
+        }
+        Map<Transition, ShapeImpl> snapshot = new LinkedHashMap<>();
+        for (TransitionEntry e : entries) {
+            ShapeImpl shape = e.get();
+            if (shape != null) {
+                snapshot.put(e.transition, shape);
             }
         }
+        return snapshot;
     }
 
     public final PropertyMap getPropertyMap() {
@@ -284,7 +373,7 @@ public abstract class ShapeImpl extends Shape {
     }
 
     public final ShapeImpl queryTransition(Transition transition) {
-        ShapeImpl cachedShape = this.getTransitionMapForRead().get(transition);
+        ShapeImpl cachedShape = getTransition(transition);
         if (cachedShape != null) {
             shapeCacheHitCount.inc();
             return cachedShape;
@@ -294,6 +383,80 @@ public abstract class ShapeImpl extends Shape {
         return null;
     }
 
+    private ShapeImpl getTransition(Transition transition) {
+        Object trans = transitions;
+        if (trans == null) {
+            return null;
+        } else if (trans instanceof TransitionEntry) {
+            TransitionEntry entry = (TransitionEntry) trans;
+            return entry.transition.equals(transition) ? entry.get() : null;
+        } else if (trans instanceof TransitionEntry[]) {
+            for (TransitionEntry entry : (TransitionEntry[]) trans) {
+                if (entry.transition.equals(transition)) {
+                    return entry.get();
+                }
+            }
+            return null;
+        } else {
+            return ((TransitionMap) trans).get(transition);
+        }
+    }
+
+    /**
+     * Weak reference to the target shape of a transition.
+     */
+    private static final class TransitionEntry extends WeakReference<ShapeImpl> {
+        final Transition transition;
+
+        TransitionEntry(Transition transition, ShapeImpl shape) {
+            super(shape);
+            this.transition = transition;
+        }
+    }
+
+    /**
+     * Transitions of shapes with many successors. Entries of collected shapes are expunged whenever
+     * the map doubles in size, so its size stays proportional to the number of live successors.
+     */
+    private static final class TransitionMap {
+        private static final int MIN_EXPUNGE_THRESHOLD = 2 * TRANSITION_ARRAY_MAX;
+
+        private final ConcurrentHashMap<Transition, TransitionEntry> map;
+        final int expungeThreshold;
+
+        TransitionMap(int liveSize) {
+            this.map = new ConcurrentHashMap<>();
+            this.expungeThreshold = Math.max(MIN_EXPUNGE_THRESHOLD, liveSize * 2);
+        }
+
+        ShapeImpl get(Transition transition) {
+            TransitionEntry entry = map.get(transition);
+            return entry != null ? entry.get() : null;
+        }
+
+        void put(TransitionEntry entry) {
+            map.put(entry.transition, entry);
+        }
+
+        int size() {
+            return map.size();
+        }
+
+        List<TransitionEntry> entries() {
+            return new ArrayList<>(map.values());
+        }
+
+        List<TransitionEntry> liveEntries() {
+            List<TransitionEntry> live = new ArrayList<>(map.size());
+            for (TransitionEntry entry : map.values()) {
+                if (entry.get() != null) {
+                    live.add(entry);
+                }
+            }
+            return live;
+        }
+    }
+
     /**
      * Add a new property in the map, yielding a new or cached Shape object.
      *
@@ -514,7 +677,7 @@ public abstract class ShapeImpl extends Shape {
     }
 
     private boolean isLeafHelper() {
-        return getTransitionMapForRead().isEmpty();
+        return transitions == null;
     }
 
     private static Assumption createLeafAssumption() {
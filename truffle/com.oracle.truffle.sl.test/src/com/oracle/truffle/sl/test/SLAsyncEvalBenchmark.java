@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Serves requests to a pool of engines from two threads. Every operation sends one request to each
+ * engine. {@link #asyncRequests()} issues them all at once and collects the results in callbacks,
+ * {@link #blockingRequests()} waits for each result before sending the next request.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SLAsyncEvalBenchmark {
+
+    private static final int ENGINES = 16;
+    private static final int THREADS = 2;
+
+    private ExecutorService pool;
+    private PolyglotEngine[] engines;
+    private PolyglotEngine.Value[] functions;
+
+    @Setup
+    public void prepare() throws IOException {
+        pool = Executors.newFixedThreadPool(THREADS);
+        engines = new PolyglotEngine[ENGINES];
+        functions = new PolyglotEngine.Value[ENGINES];
+        Source source = Source.newBuilder("function fib(n) { if (n < 2) { return 1; } return fib(n - 1) + fib(n - 2); }").name("fib.sl").mimeType(SLLanguage.MIME_TYPE).build();
+        for (int i = 0; i < ENGINES; i++) {
+            engines[i] = PolyglotEngine.newBuilder().executor(new SerialExecutor(pool)).build();
+            engines[i].eval(source).get();
+            functions[i] = engines[i].findGlobalSymbol("fib");
+        }
+    }
+
+    @TearDown
+    public void dispose() {
+        for (PolyglotEngine engine : engines) {
+            engine.dispose();
+        }
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long asyncRequests() throws InterruptedException {
+        final CountDownLatch pending = new CountDownLatch(ENGINES);
+        final AtomicLong sum = new AtomicLong();
+        PolyglotEngine.Callback callback = new PolyglotEngine.Callback() {
+            @Override
+            public void done(PolyglotEngine.Value value) {
+                try {
+                    sum.addAndGet(value.as(Number.class).longValue());
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                pending.countDown();
+            }
+
+            @Override
+            public void failed(Throwable error) {
+                pending.countDown();
+            }
+        };
+        for (PolyglotEngine.Value fib : functions) {
+            fib.executeAsync(callback, 15);
+        }
+        pending.await();
+        return sum.get();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long blockingRequests() throws IOException {
+        long sum = 0;
+        for (PolyglotEngine.Value fib : functions) {
+            sum += fib.execute(15).as(Number.class).longValue();
+        }
+        return sum;
+    }
+
+    /**
+     * Runs the tasks one by one, in order, in any thread of the shared pool, as required by
+     * {@link PolyglotEngine.Builder#executor(Executor)}.
+     */
+    private static final class SerialExecutor implements Executor {
+        private final Executor pool;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean active;
+
+        SerialExecutor(Executor pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(task);
+            if (!active) {
+                active = true;
+                pool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        drain();
+                    }
+                });
+            }
+        }
+
+        private void drain() {
+            for (;;) {
+                Runnable next;
+                synchronized (this) {
+                    next = tasks.poll();
+                    if (next == null) {
+                        active = false;
+                        return;
+                    }
+                }
+                next.run();
+            }
+        }
+    }
+}
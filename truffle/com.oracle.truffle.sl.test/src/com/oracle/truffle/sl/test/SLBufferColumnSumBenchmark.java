@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.interop.java.BufferSchema;
+import com.oracle.truffle.api.interop.java.JavaInterop;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Sums one column of a direct {@link ByteBuffer} with {@value #ROWS} rows from SL, reading the
+ * values through a {@link JavaInterop#asTruffleBuffer(ByteBuffer, BufferSchema) buffer view}.
+ */
+@State(value = Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SLBufferColumnSumBenchmark {
+
+    private static final int ROWS = 10000000;
+
+    @Param({"ROW_MAJOR", "COLUMN_MAJOR"}) private BufferSchema.Layout layout;
+
+    private PolyglotEngine vm;
+    private PolyglotEngine.Value sum;
+    private TruffleObject data;
+
+    @Setup
+    public void prepare() throws IOException {
+        BufferSchema schema = BufferSchema.newBuilder(ROWS, layout).add("key", BufferSchema.Type.INT).add("value", BufferSchema.Type.LONG).build();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(schema.getByteSize());
+        for (int i = 0; i < ROWS; i++) {
+            if (layout == BufferSchema.Layout.ROW_MAJOR) {
+                buffer.putInt(i * 12, i);
+                buffer.putLong(i * 12 + 4, i);
+            } else {
+                buffer.putInt(i * 4, i);
+                buffer.putLong(ROWS * 4 + i * 8, i);
+            }
+        }
+        data = JavaInterop.asTruffleBuffer(buffer, schema);
+
+        vm = PolyglotEngine.newBuilder().build();
+        vm.eval(Source.newBuilder("function sum(data, n) {\n" +
+                        "  column = data.value;\n" +
+                        "  i = 0;\n" +
+                        "  s = 0;\n" +
+                        "  while (i < n) {\n" +
+                        "    s = s + column[i];\n" +
+                        "    i = i + 1;\n" +
+                        "  }\n" +
+                        "  return s;\n" +
+                        "}\n").name("sum.sl").mimeType(SLLanguage.MIME_TYPE).build());
+        sum = vm.findGlobalSymbol("sum");
+    }
+
+    @TearDown
+    public void dispose() {
+        vm.dispose();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long sumColumn() throws IOException {
+        long res = sum.execute(data, ROWS).as(Number.class).longValue();
+        if (res != (long) ROWS * (ROWS - 1) / 2) {
+            throw new AssertionError();
+        }
+        return res;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.debug.Breakpoint;
+import com.oracle.truffle.api.debug.Debugger;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Overhead of a conditional breakpoint whose condition is never true, placed on the body of a hot
+ * loop.
+ */
+@State(value = Scope.Benchmark)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SLConditionalBreakpointBenchmark {
+
+    @Param({"none", "conditional"}) private String breakpoint;
+
+    private PolyglotEngine vm;
+    private PolyglotEngine.Value loop;
+
+    @Setup
+    public void prepare() throws IOException {
+        vm = PolyglotEngine.newBuilder().build();
+        Source source = Source.newBuilder("function loop(n) {\n" +
+                        "  i = 0;\n" +
+                        "  sum = 0;\n" +
+                        "  while (i < n) {\n" +
+                        "    sum = sum + i;\n" +
+                        "    i = i + 1;\n" +
+                        "  }\n" +
+                        "  return sum;\n" +
+                        "}\n").name("loop.sl").mimeType(SLLanguage.MIME_TYPE).build();
+        if ("conditional".equals(breakpoint)) {
+            Breakpoint b = Debugger.find(vm).setLineBreakpoint(0, source.createLineLocation(5), false);
+            b.setCondition("function main() {\n  return 1 == 2;\n}\n");
+        }
+        vm.eval(source);
+        loop = vm.findGlobalSymbol("loop");
+    }
+
+    @TearDown
+    public void dispose() {
+        vm.dispose();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long loop() throws IOException {
+        long res = loop.execute(1000L).as(Number.class).longValue();
+        if (res != 499500) {
+            throw new AssertionError();
+        }
+        return res;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.SLRootNode;
+import com.oracle.truffle.sl.parser.Parser;
+import com.oracle.truffle.sl.runtime.SLFunction;
+import com.oracle.truffle.sl.runtime.SLFunctionRegistry;
+
+public class SLFunctionRegistryTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 200;
+
+    private PolyglotEngine engine;
+
+    @Before
+    public void initEngine() throws Exception {
+        // SL nodes find their context via the engine that executes on the current thread
+        engine = PolyglotEngine.newBuilder().build();
+        engine.eval(Source.newBuilder("function main() {}").name("init.sl").mimeType(SLLanguage.MIME_TYPE).build());
+    }
+
+    @After
+    public void dispose() {
+        engine.dispose();
+    }
+
+    @Test
+    public void concurrentLookupAndRedefinition() throws Exception {
+        final SLFunctionRegistry registry = new SLFunctionRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<SLFunction>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int id = t;
+                results.add(executor.submit(new Callable<SLFunction>() {
+                    @Override
+                    public SLFunction call() throws Exception {
+                        SLFunction shared = null;
+                        for (int i = 0; i < ITERATIONS; i++) {
+                            SLFunction found = registry.lookup("shared", true);
+                            if (shared == null) {
+                                shared = found;
+                            }
+                            assertSame("Only one function per name", shared, found);
+
+                            Source source = Source.newBuilder("function shared() { return " + id + "; }\nfunction f" + id + "n" + i + "() { return " + i + "; }").//
+                            name("thread" + id + ".sl").mimeType(SLLanguage.MIME_TYPE).build();
+                            registry.register(Parser.parseSL(source));
+
+                            assertTrue("Defined by some thread", shared.getCallTarget().getRootNode() instanceof SLRootNode);
+                            SLFunction own = registry.lookup("f" + id + "n" + i, false);
+                            assertEquals("f" + id + "n" + i, ((SLRootNode) own.getCallTarget().getRootNode()).getName());
+                        }
+                        return shared;
+                    }
+                }));
+            }
+            List<SLFunction> found = new ArrayList<>();
+            for (Future<SLFunction> result : results) {
+                found.add(result.get());
+            }
+            SLFunction shared = registry.lookup("shared", false);
+            for (SLFunction function : found) {
+                assertSame(shared, function);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long sharedValue = (Long) registry.lookup("shared", false).getCallTarget().call();
+        assertTrue("Returns a value of some thread: " + sharedValue, sharedValue >= 0 && sharedValue < THREADS);
+        assertEquals(7L, registry.lookup("f3n7", false).getCallTarget().call());
+
+        List<SLFunction> functions = registry.getFunctions();
+        assertEquals(1 + THREADS * ITERATIONS, functions.size());
+        assertEquals("f0n0", functions.get(0).getName());
+        assertEquals("shared", functions.get(functions.size() - 1).getName());
+        assertSame("Sorted list is cached", functions, registry.getFunctions());
+        registry.lookup("g", true);
+        assertEquals("Adding a function discards the sorted list", 2 + THREADS * ITERATIONS, registry.getFunctions().size());
+    }
+
+}
@@ -45,6 +45,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -88,4 +89,29 @@ public class SLJavaInteropTest {
 
         assertEquals("Called!\n", os.toString("UTF-8"));
     }
+
+    @Test
+    public void arrayAsList() throws Exception {
+        String scriptText = "function squares(n) {\n" + //
+                        "  a = newArray();\n" + //
+                        "  i = 0;\n" + //
+                        "  while (i < n) {\n" + //
+                        "    a[i] = i * i;\n" + //
+                        "    i = i + 1;\n" + //
+                        "  }\n" + //
+                        "  return a;\n" + //
+                        "}\n";
+        Source script = Source.newBuilder(scriptText).name("Test").mimeType(SLLanguage.MIME_TYPE).build();
+        engine.eval(script);
+        Object array = engine.findGlobalSymbol("squares").execute(5).get();
+        assertTrue("It's truffle object", array instanceof TruffleObject);
+
+        @SuppressWarnings("unchecked")
+        List<Number> list = JavaInterop.asJavaObject(List.class, (TruffleObject) array);
+        assertEquals(5, list.size());
+        assertEquals(16, list.get(4).intValue());
+
+        list.set(1, 42);
+        assertEquals(42, list.get(1).intValue());
+    }
 }
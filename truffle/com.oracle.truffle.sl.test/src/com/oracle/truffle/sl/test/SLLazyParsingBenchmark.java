@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.sl.SLLanguage;
+
+/**
+ * Starts a new engine, loads a library of 50000 lines into it and calls a few of its functions,
+ * with and without {@link SLLanguage#LAZY_PARSING}. Every iteration loads code that was never
+ * parsed before.
+ */
+@State(value = Scope.Benchmark)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SLLazyParsingBenchmark {
+
+    private static final int LINES = 50000;
+    private static final int LINES_PER_FUNCTION = 10;
+    private static final int CALLED_FUNCTIONS = 10;
+
+    @Param({"false", "true"}) private boolean lazy;
+
+    private final String library = createLibrary();
+    private int counter;
+
+    private static String createLibrary() {
+        StringBuilder sb = new StringBuilder();
+        for (int f = 0; f < LINES / LINES_PER_FUNCTION; f++) {
+            sb.append("function f").append(f).append("(a, b) {\n");
+            sb.append("  c = a + b * 2;\n");
+            sb.append("  if (c < 100) {\n");
+            sb.append("    c = c + f").append(Math.max(f - 1, 0)).append("(a, 1);\n");
+            sb.append("  }\n");
+            sb.append("  o = new();\n");
+            sb.append("  o.x = c;\n");
+            sb.append("  a = \"value \" + o.x;\n");
+            sb.append("  return o.x;\n");
+            sb.append("}\n");
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object loadAndCall() throws IOException {
+        PolyglotEngine vm = PolyglotEngine.newBuilder().config(SLLanguage.MIME_TYPE, SLLanguage.LAZY_PARSING, lazy).build();
+        vm.eval(Source.newBuilder(library + "// " + counter++ + "\n").name("library.sl").mimeType(SLLanguage.MIME_TYPE).build());
+        Object result = null;
+        for (int f = 0; f < CALLED_FUNCTIONS; f++) {
+            result = vm.findGlobalSymbol("f" + f).execute(200, 1).get();
+        }
+        vm.dispose();
+        return result;
+    }
+}
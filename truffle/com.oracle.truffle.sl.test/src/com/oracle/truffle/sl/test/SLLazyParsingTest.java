@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2012, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.sl.SLLanguage;
+
+public class SLLazyParsingTest {
+
+    private PolyglotEngine engine;
+    private ByteArrayOutputStream os;
+
+    @Before
+    public void create() {
+        os = new ByteArrayOutputStream();
+        engine = PolyglotEngine.newBuilder().setOut(os).config(SLLanguage.MIME_TYPE, SLLanguage.LAZY_PARSING, Boolean.TRUE).build();
+    }
+
+    @After
+    public void dispose() {
+        engine.dispose();
+    }
+
+    @Test
+    public void functionsParsedOnCall() throws Exception {
+        String scriptText = "function square(n) {\n" + //
+                        "  return n * n;\n" + //
+                        "}\n" + //
+                        "function sum(n) { s = 0; i = 0; while (i < n) { s = s + square(i); i = i + 1; } return s; }\n" + //
+                        "function main() {\n" + //
+                        "  println(sum(4));\n" + //
+                        "}\n";
+        Source script = Source.newBuilder(scriptText).name("Test").mimeType(SLLanguage.MIME_TYPE).build();
+        engine.eval(script);
+        assertEquals("14\n", os.toString("UTF-8"));
+        assertEquals(25L, engine.findGlobalSymbol("square").execute(5).get());
+        assertEquals(30L, engine.findGlobalSymbol("sum").execute(5).get());
+    }
+
+    @Test
+    public void syntaxErrorReportedOnFirstCall() throws Exception {
+        String scriptText = "function broken() {\n" + //
+                        "  return (1;\n" + //
+                        "}\n" + //
+                        "function fine() {\n" + //
+                        "  return 42;\n" + //
+                        "}\n";
+        Source script = Source.newBuilder(scriptText).name("Test").mimeType(SLLanguage.MIME_TYPE).build();
+        engine.eval(script);
+        assertEquals(42L, engine.findGlobalSymbol("fine").execute().get());
+        try {
+            engine.findGlobalSymbol("broken").execute();
+            fail("Expected a syntax error");
+        } catch (Exception ex) {
+            assertTrue(ex.toString(), String.valueOf(ex.getMessage()).contains("-- line 2 col 12"));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.parser.Parser;
+import com.oracle.truffle.sl.runtime.SLFunction;
+import com.oracle.truffle.sl.runtime.SLFunctionRegistry;
+
+/**
+ * Parses and evaluates SL code from several threads at once. Run with <code>-t N</code> to see how
+ * the throughput scales with the number of threads.
+ */
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+public class SLParallelEvalBenchmark {
+
+    private static final String PROGRAM = "function add(a, b) { return a + b; }\n" +
+                    "function main() { i = 0; sum = 0; while (i < 100) { sum = add(sum, i); i = i + 1; } return sum; }";
+
+    @State(Scope.Thread)
+    public static class EngineState {
+        PolyglotEngine engine;
+        int counter;
+
+        @Setup
+        public void prepare() {
+            engine = PolyglotEngine.newBuilder().build();
+        }
+
+        @TearDown
+        public void dispose() {
+            engine.dispose();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RegistryState {
+        final SLFunctionRegistry registry = new SLFunctionRegistry();
+        PolyglotEngine engine;
+        Source source;
+
+        @Setup
+        public void prepare() throws IOException {
+            // the parser creates SL nodes, which requires an initialized engine
+            engine = PolyglotEngine.newBuilder().build();
+            engine.eval(Source.newBuilder(PROGRAM).name("init.sl").mimeType(SLLanguage.MIME_TYPE).build());
+            source = Source.newBuilder(PROGRAM).name("shared.sl").mimeType(SLLanguage.MIME_TYPE).build();
+            registry.register(Parser.parseSL(source));
+        }
+
+        @TearDown
+        public void dispose() {
+            engine.dispose();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object evalInOwnEngine(EngineState state) throws IOException {
+        Source source = Source.newBuilder(PROGRAM + "\n// " + state.counter++).name("eval.sl").mimeType(SLLanguage.MIME_TYPE).build();
+        return state.engine.eval(source).get();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public SLFunction parseAndRegisterShared(RegistryState state) {
+        state.registry.register(Parser.parseSL(state.source));
+        return state.registry.lookup("main", false);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public SLFunction lookupShared(RegistryState state) {
+        SLFunction function = state.registry.lookup("add", true);
+        if (function == null) {
+            throw new AssertionError();
+        }
+        return state.registry.lookup("main", true);
+    }
+}
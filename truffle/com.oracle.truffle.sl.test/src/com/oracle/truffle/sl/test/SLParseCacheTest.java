@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeVisitor;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.SLRootNode;
+import com.oracle.truffle.sl.parser.SLParseCache;
+
+public class SLParseCacheTest {
+
+    private static final String CODE = "function add(a, b) {\n" + //
+                    "  return a + b;\n" + //
+                    "}\n" + //
+                    "function main() {\n" + //
+                    "  println(add(1, 2));\n" + //
+                    "}\n";
+
+    @Test
+    public void returnsFreshCopies() {
+        SLParseCache cache = new SLParseCache();
+        Source source = Source.newBuilder(CODE).name("a.sl").mimeType(SLLanguage.MIME_TYPE).build();
+        Map<String, SLRootNode> parsedOnce = cache.parse(source, false);
+        Map<String, SLRootNode> first = cache.parse(source, false);
+        Map<String, SLRootNode> second = cache.parse(source, false);
+
+        for (String name : parsedOnce.keySet()) {
+            assertNotSame(parsedOnce.get(name), first.get(name));
+        }
+
+        assertEquals(first.keySet(), second.keySet());
+        for (String name : first.keySet()) {
+            assertNotSame(first.get(name), second.get(name));
+            assertNotSame(first.get(name).getBodyNode(), second.get(name).getBodyNode());
+            assertSame(first.get(name).getFrameDescriptor(), second.get(name).getFrameDescriptor());
+        }
+    }
+
+    @Test
+    public void sameCodeOfOtherSource() {
+        SLParseCache cache = new SLParseCache();
+        Source a = Source.newBuilder(CODE).name("a.sl").mimeType(SLLanguage.MIME_TYPE).build();
+        Source b = Source.newBuilder(CODE).name("b.sl").mimeType(SLLanguage.MIME_TYPE).build();
+        cache.parse(a, false);
+        Map<String, SLRootNode> fromB = cache.parse(b, false);
+        Map<String, SLRootNode> fromA = cache.parse(a, false);
+
+        SLRootNode addA = fromA.get("add");
+        SLRootNode addB = fromB.get("add");
+        assertSame(a, addA.getSourceSection().getSource());
+        assertSame(b, addB.getSourceSection().getSource());
+        assertEquals(addA.getSourceSection().getStartLine(), addB.getSourceSection().getStartLine());
+        assertEquals(addA.getSourceSection().getCharIndex(), addB.getSourceSection().getCharIndex());
+        assertAllSectionsIn(b, addB);
+        assertAllSectionsIn(b, fromB.get("main"));
+        assertAllSectionsIn(a, fromA.get("main"));
+    }
+
+    @Test
+    public void lazyParseIsNotARepeatOfEagerParse() {
+        SLParseCache cache = new SLParseCache();
+        Source source = Source.newBuilder(CODE).name("a.sl").mimeType(SLLanguage.MIME_TYPE).build();
+        cache.parse(source, false);
+        cache.parse(source, true);
+        Map<String, SLRootNode> first = cache.parse(source, false);
+        Map<String, SLRootNode> second = cache.parse(source, false);
+
+        for (String name : first.keySet()) {
+            assertSame("Copied from the eager template", first.get(name).getFrameDescriptor(), second.get(name).getFrameDescriptor());
+        }
+    }
+
+    private static void assertAllSectionsIn(final Source source, SLRootNode root) {
+        root.getBodyNode().accept(new NodeVisitor() {
+            public boolean visit(Node node) {
+                if (node.getSourceSection() != null) {
+                    assertSame(node.toString(), source, node.getSourceSection().getSource());
+                }
+                return true;
+            }
+        });
+    }
+}
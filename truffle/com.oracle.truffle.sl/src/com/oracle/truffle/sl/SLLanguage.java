@@ -58,7 +58,8 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.sl.nodes.SLEvalRootNode;
 import com.oracle.truffle.sl.nodes.SLRootNode;
-import com.oracle.truffle.sl.parser.Parser;
+import com.oracle.truffle.sl.parser.SLParseCache;
+import com.oracle.truffle.sl.runtime.SLArray;
 import com.oracle.truffle.sl.runtime.SLContext;
 import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLNull;
@@ -69,11 +70,21 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
 
     public static final String MIME_TYPE = "application/x-sl";
 
+    /**
+     * Configuration key that enables lazy parsing when set to {@link Boolean#TRUE} with
+     * {@link com.oracle.truffle.api.vm.PolyglotEngine.Builder#config}: only the boundaries of
+     * functions are determined when a source is parsed, and the body of a function is parsed when
+     * the function is called for the first time.
+     */
+    public static final String LAZY_PARSING = "LAZY_PARSING";
+
     /**
      * The singleton instance of the language.
      */
     public static final SLLanguage INSTANCE = new SLLanguage();
 
+    private final SLParseCache parseCache = new SLParseCache();
+
     /**
      * No instances allowed apart from the {@link #INSTANCE singleton instance}.
      */
@@ -87,15 +98,24 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
         return new SLContext(env, in, out);
     }
 
+    /**
+     * Parses the functions of a source. Code that was parsed before is not parsed again, see
+     * {@link SLParseCache}.
+     */
+    public Map<String, SLRootNode> parseFunctions(Source source, boolean lazy) {
+        return parseCache.parse(source, lazy);
+    }
+
     @Override
     protected CallTarget parse(Source source, Node node, String... argumentNames) throws IOException {
         Map<String, SLRootNode> functions;
         try {
             /*
-             * Parse the provided source. At this point, we do not have a SLContext yet.
-             * Registration of the functions with the SLContext happens lazily in SLEvalRootNode.
+             * Parse the provided source. Only whether to parse function bodies lazily is read from
+             * the current SLContext. Registration of the functions with the SLContext happens
+             * lazily in SLEvalRootNode.
              */
-            functions = Parser.parseSL(source);
+            functions = parseCache.parse(source, findContext().isLazyParsing());
         } catch (Throwable ex) {
             /*
              * The specification says that exceptions during parsing have to wrapped with an
@@ -139,7 +159,7 @@ public final class SLLanguage extends TruffleLanguage<SLContext> {
 
     @Override
     protected boolean isObjectOfLanguage(Object object) {
-        return object instanceof SLFunction;
+        return object instanceof SLFunction || object instanceof SLArray;
     }
 
     @Override
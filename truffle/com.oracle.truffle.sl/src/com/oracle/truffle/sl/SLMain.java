@@ -56,14 +56,18 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.api.vm.PolyglotEngine;
 import com.oracle.truffle.api.vm.PolyglotEngine.Value;
+import com.oracle.truffle.sl.builtins.SLArrayLengthBuiltin;
 import com.oracle.truffle.sl.builtins.SLDefineFunctionBuiltin;
 import com.oracle.truffle.sl.builtins.SLNanoTimeBuiltin;
+import com.oracle.truffle.sl.builtins.SLNewArrayBuiltin;
 import com.oracle.truffle.sl.builtins.SLPrintlnBuiltin;
 import com.oracle.truffle.sl.builtins.SLReadlnBuiltin;
 import com.oracle.truffle.sl.builtins.SLStackTraceBuiltin;
 import com.oracle.truffle.sl.nodes.SLTypes;
+import com.oracle.truffle.sl.nodes.access.SLReadArrayElementNode;
 import com.oracle.truffle.sl.nodes.access.SLReadPropertyCacheNode;
 import com.oracle.truffle.sl.nodes.access.SLReadPropertyNode;
+import com.oracle.truffle.sl.nodes.access.SLWriteArrayElementNode;
 import com.oracle.truffle.sl.nodes.access.SLWritePropertyCacheNode;
 import com.oracle.truffle.sl.nodes.access.SLWritePropertyNode;
 import com.oracle.truffle.sl.nodes.call.SLDispatchNode;
@@ -92,10 +96,12 @@ import com.oracle.truffle.sl.nodes.local.SLWriteLocalVariableNode;
 import com.oracle.truffle.sl.parser.Parser;
 import com.oracle.truffle.sl.parser.SLNodeFactory;
 import com.oracle.truffle.sl.parser.Scanner;
+import com.oracle.truffle.sl.runtime.SLArray;
 import com.oracle.truffle.sl.runtime.SLContext;
 import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLFunctionRegistry;
 import com.oracle.truffle.sl.runtime.SLNull;
+import com.oracle.truffle.sl.runtime.SLRope;
 import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
 import java.io.File;
 
@@ -122,6 +128,8 @@ import java.io.File;
  * <li>Function: implementation type {@link SLFunction}.
  * <li>Object: efficient implementation using the object model provided by Truffle. The
  * implementation type of objects is a subclass of {@link DynamicObject}.
+ * <li>Array: implementation type {@link SLArray}, which stores numbers unboxed until another value
+ * is written into the array.
  * <li>Null (with only one value {@code null}): implemented as the singleton
  * {@link SLNull#SINGLETON}.
  * </ul>
@@ -150,6 +158,9 @@ import java.io.File;
  * <li>Object access: {@link SLReadPropertyNode} uses {@link SLReadPropertyCacheNode} as the
  * polymorphic inline cache for property reads. {@link SLWritePropertyNode} uses
  * {@link SLWritePropertyCacheNode} as the polymorphic inline cache for property writes.
+ * <li>Array access: the same nodes access the elements of an array using
+ * {@link SLReadArrayElementNode} and {@link SLWriteArrayElementNode}, which specialize on the
+ * storage strategy of the array.
  * </ul>
  *
  * <p>
@@ -179,6 +190,9 @@ import java.io.File;
  * with the new version.
  * <li>{@link SLStackTraceBuiltin stckTrace}: Print all function activations with all local
  * variables.
+ * <li>{@link SLNewArrayBuiltin newArray}: Creates an empty array. Writing the element after the last
+ * one appends it.
+ * <li>{@link SLArrayLengthBuiltin arrayLength}: Returns the number of elements of an array.
  * </ul>
  */
 public final class SLMain {
@@ -274,7 +288,7 @@ public final class SLMain {
                     result.append("Number ").append(value);
                 } else if (value instanceof Boolean) {
                     result.append("Boolean ").append(value);
-                } else if (value instanceof String) {
+                } else if (value instanceof String || value instanceof SLRope) {
                     result.append("String \"").append(value).append("\"");
                 } else if (value instanceof SLFunction) {
                     result.append("Function ").append(value);
@@ -53,6 +53,7 @@ import com.oracle.truffle.api.frame.FrameInstanceVisitor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.sl.nodes.SLLazyFunctionRootNode;
 
 /**
  * Returns a string representation of the current stack. This includes the {@link CallTarget}s and
@@ -86,6 +87,10 @@ public abstract class SLStackTraceBuiltin extends SLBuiltinNode {
                 if (rn.getClass().getName().contains("SLForeignFunctionExecute")) {
                     return 1;
                 }
+                if (rn instanceof SLLazyFunctionRootNode) {
+                    // forwards its first call to the parsed function, which is the next frame
+                    return null;
+                }
                 if (str.length() > 0) {
                     str.append(System.getProperty("line.separator"));
                 }
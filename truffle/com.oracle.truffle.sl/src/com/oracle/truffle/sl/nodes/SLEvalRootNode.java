@@ -94,6 +94,6 @@ public final class SLEvalRootNode extends SLRootNode {
         }
 
         /* Now we can execute the body of the "main" function. */
-        return super.execute(frame);
+        return SLContext.toForeignValue(super.execute(frame));
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012, 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.parser.Parser;
+import com.oracle.truffle.sl.runtime.SLFunction;
+
+/**
+ * The {@link RootNode} of a function whose body has not been parsed yet, see
+ * {@link Parser#parseSLLazy}. The first execution parses the function and replaces the call
+ * target of the {@link SLFunction}, so that later calls execute the parsed function directly.
+ * Callers that still hold the call target of this node are forwarded to the parsed function.
+ */
+public final class SLLazyFunctionRootNode extends SLRootNode {
+
+    @Child private DirectCallNode parsedFunction;
+
+    public SLLazyFunctionRootNode(SourceSection functionSection) {
+        super(null, null, functionSection, functionSection.getIdentifier());
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        if (parsedFunction == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            parse();
+        }
+        return parsedFunction.call(frame, frame.getArguments());
+    }
+
+    private synchronized void parse() {
+        if (parsedFunction != null) {
+            return;
+        }
+        SLRootNode function = Parser.parseSLFunction(getSourceSection());
+        RootCallTarget callTarget = Truffle.getRuntime().createCallTarget(function);
+        SLLanguage.INSTANCE.findContext().getFunctionRegistry().replace(getName(), getCallTarget(), callTarget);
+        parsedFunction = insert(Truffle.getRuntime().createDirectCallNode(callTarget));
+    }
+}
@@ -47,6 +47,7 @@ import com.oracle.truffle.api.instrumentation.Instrumentable;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeInfo;
+import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 
 /**
@@ -73,6 +74,18 @@ public abstract class SLStatementNode extends Node {
         this.sourceSection = section;
     }
 
+    /**
+     * Replaces the source section by the section at the same position of another source that has
+     * the same code. Used when the nodes are a copy of nodes that were parsed from a different
+     * {@link Source} object.
+     */
+    public void relocateSourceSection(Source source) {
+        SourceSection section = this.sourceSection;
+        if (section != null && section.getSource() != source) {
+            this.sourceSection = source.createSection(section.getIdentifier(), section.getStartLine(), section.getStartColumn(), section.getCharIndex(), section.getCharLength());
+        }
+    }
+
     /**
      * Execute this node as as statement, where no return value is necessary.
      */
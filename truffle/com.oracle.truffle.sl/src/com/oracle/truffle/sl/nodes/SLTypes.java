@@ -51,6 +51,7 @@ import com.oracle.truffle.api.dsl.internal.DSLOptions;
 import com.oracle.truffle.sl.SLLanguage;
 import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLNull;
+import com.oracle.truffle.sl.runtime.SLRope;
 
 /**
  * The type system of SL, as explained in {@link SLLanguage}. Based on the {@link TypeSystem}
@@ -58,8 +59,8 @@ import com.oracle.truffle.sl.runtime.SLNull;
  * conversion methods for all types. In this class, we only cover types where the automatically
  * generated ones would not be sufficient.
  */
-@TypeSystem({long.class, BigInteger.class, boolean.class, String.class, SLFunction.class, SLNull.class})
-@DSLOptions
+@TypeSystem({long.class, BigInteger.class, boolean.class, String.class, SLRope.class, SLFunction.class, SLNull.class})
+@DSLOptions(useStateBitsets = true)
 public abstract class SLTypes {
 
     /**
@@ -96,4 +97,16 @@ public abstract class SLTypes {
     public static BigInteger castBigInteger(long value) {
         return BigInteger.valueOf(value);
     }
+
+    /**
+     * Informs the Truffle DSL that a {@link SLRope} can be used in all specializations where a
+     * {@link String} is expected. A rope is only an efficient representation of a concatenated
+     * string, so everything that consumes a string also accepts a rope, at the cost of flattening
+     * it.
+     */
+    @ImplicitCast
+    @TruffleBoundary
+    public static String castString(SLRope value) {
+        return value.toString();
+    }
 }
@@ -78,6 +78,14 @@ public abstract class SLPropertyCacheNode extends Node {
         return receiver.getShape().isValid();
     }
 
+    /**
+     * Objects with many properties switch to dictionary mode. Their shape does not describe the
+     * properties, so they are accessed with a hash lookup instead of a cached location.
+     */
+    protected static boolean isDictionary(DynamicObject receiver) {
+        return isValidSLObject(receiver) && receiver.getShape().isDictionary();
+    }
+
     protected static boolean isForeignObject(TruffleObject receiver) {
         return !SLContext.isSLObject(receiver);
     }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2013, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.access;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.sl.runtime.SLArray;
+import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
+
+/**
+ * Reads an element of a {@link SLArray}. There is one specialization per storage strategy, so
+ * that elements of a {@code long[]} storage are returned without boxing. This is a separate node
+ * so that it can be re-used by the {@link SLReadPropertyNode} and for language interoperability.
+ */
+@SuppressWarnings("unused")
+public abstract class SLReadArrayElementNode extends Node {
+
+    public abstract Object executeRead(SLArray array, Object index);
+
+    @Specialization(guards = {"array.isLongStrategy()", "array.isInBounds(index)"})
+    protected static long readLong(SLArray array, long index) {
+        return array.readLong(index);
+    }
+
+    @Specialization(guards = {"array.isObjectStrategy()", "array.isInBounds(index)"})
+    protected static Object readObject(SLArray array, long index) {
+        return array.readObject(index);
+    }
+
+    /**
+     * The index is not a number or outside of the array. Like for a missing property of an object,
+     * this is an error.
+     */
+    @Fallback
+    protected static Object outOfBounds(SLArray array, Object index) {
+        throw SLUndefinedNameException.undefinedProperty(index);
+    }
+}
@@ -73,7 +73,8 @@ public abstract class SLReadPropertyCacheNode extends SLPropertyCacheNode {
     @Specialization(limit = "CACHE_LIMIT", //
                     guards = {
                                     "namesEqual(cachedName, name)",
-                                    "shapeCheck(shape, receiver)"
+                                    "shapeCheck(shape, receiver)",
+                                    "location != null"
                     }, //
                     assumptions = {
                                     "shape.getValidAssumption()"
@@ -92,6 +93,10 @@ public abstract class SLReadPropertyCacheNode extends SLPropertyCacheNode {
 
         Property property = shape.getProperty(name);
         if (property == null) {
+            if (shape.isDictionary()) {
+                /* Property may be stored in the hash table of the object, see readDictionary. */
+                return null;
+            }
             /* Property does not exist. */
             throw SLUndefinedNameException.undefinedProperty(name);
         }
@@ -99,6 +104,16 @@ public abstract class SLReadPropertyCacheNode extends SLPropertyCacheNode {
         return property.getLocation();
     }
 
+    /**
+     * Objects in dictionary mode keep their properties in a hash table, so there is no location to
+     * cache.
+     */
+    @TruffleBoundary
+    @Specialization(guards = {"isDictionary(receiver)"})
+    protected static Object readDictionary(DynamicObject receiver, Object name) {
+        return readUncached(receiver, name);
+    }
+
     /**
      * The generic case is used if the number of shapes accessed overflows the limit of the
      * polymorphic inline cache.
@@ -40,19 +40,23 @@
  */
 package com.oracle.truffle.sl.nodes.access;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.runtime.SLArray;
+import com.oracle.truffle.sl.runtime.SLRope;
 
 /**
  * The node for reading a property of an object. When executed, this node:
  * <ol>
  * <li>evaluates the object expression on the left hand side of the object access operator</li>
  * <li>evaluated the property name</li>
- * <li>reads the named property</li>
+ * <li>reads the named property, or the element with the given index if the object is a
+ * {@link SLArray}</li>
  * </ol>
  */
 @NodeInfo(shortName = ".")
@@ -67,7 +71,21 @@ public abstract class SLReadPropertyNode extends SLExpressionNode {
     @Child private SLReadPropertyCacheNode readNode = SLReadPropertyCacheNodeGen.create();
 
     @Specialization
+    protected Object readArray(SLArray receiver, Object index,
+                    @Cached("createReadElementNode()") SLReadArrayElementNode readElementNode) {
+        return readElementNode.executeRead(receiver, index);
+    }
+
+    @Specialization(guards = "!isArray(receiver)")
     protected Object read(VirtualFrame frame, Object receiver, Object name) {
-        return readNode.executeRead(frame, receiver, name);
+        return readNode.executeRead(frame, receiver, SLRope.flatten(name));
+    }
+
+    protected static boolean isArray(Object receiver) {
+        return receiver instanceof SLArray;
+    }
+
+    protected static SLReadArrayElementNode createReadElementNode() {
+        return SLReadArrayElementNodeGen.create();
     }
 }
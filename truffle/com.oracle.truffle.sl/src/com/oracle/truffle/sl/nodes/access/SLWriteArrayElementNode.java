@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2013, 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.nodes.access;
+
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.sl.runtime.SLArray;
+import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
+
+/**
+ * Writes or appends an element of a {@link SLArray}. There is one specialization per storage
+ * strategy, and one that performs the transition to a more general strategy.
+ */
+@SuppressWarnings("unused")
+public abstract class SLWriteArrayElementNode extends Node {
+
+    public abstract void executeWrite(SLArray array, Object index, Object value);
+
+    @Specialization(guards = {"array.isLongStrategy()", "array.isWritable(index)"})
+    protected static void writeLong(SLArray array, long index, long value) {
+        array.writeLong(index, value);
+    }
+
+    @Specialization(guards = {"array.isObjectStrategy()", "array.isWritable(index)"})
+    protected static void writeObject(SLArray array, long index, Object value) {
+        array.writeObject(index, value);
+    }
+
+    /**
+     * The value does not fit into the storage of the array. Because strategies only change from
+     * more specific to more general ones, this happens at most twice for every array.
+     */
+    @Specialization(guards = {"!array.isObjectStrategy()", "array.isWritable(index)"})
+    protected static void writeGeneralize(SLArray array, long index, Object value) {
+        array.writeGeneralize(index, value);
+    }
+
+    @Fallback
+    protected static void outOfBounds(SLArray array, Object index, Object value) {
+        throw SLUndefinedNameException.undefinedProperty(index);
+    }
+}
@@ -60,6 +60,7 @@ import com.oracle.truffle.api.object.IncompatibleLocationException;
 import com.oracle.truffle.api.object.Location;
 import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.sl.runtime.SLContext;
 import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
 
 @SuppressWarnings("unused")
@@ -103,6 +104,7 @@ public abstract class SLWritePropertyCacheNode extends SLPropertyCacheNode {
                                     "namesEqual(cachedName, name)",
                                     "shapeCheck(oldShape, receiver)",
                                     "oldLocation == null",
+                                    "!oldShape.isDictionary()",
                                     "canStore(newLocation, value)"
                     }, //
                     assumptions = {
@@ -152,9 +154,23 @@ public abstract class SLWritePropertyCacheNode extends SLPropertyCacheNode {
     }
 
     protected static Shape defineProperty(Shape oldShape, Object name, Object value) {
+        if (oldShape.isDictionary()) {
+            /* Properties of objects in dictionary mode are written by writeDictionary. */
+            return oldShape;
+        }
         return oldShape.defineProperty(name, value, 0);
     }
 
+    /**
+     * Objects in dictionary mode keep their properties in a hash table, so there is no location to
+     * cache and no shape transition to take.
+     */
+    @TruffleBoundary
+    @Specialization(guards = {"isDictionary(receiver)"})
+    protected static void writeDictionary(DynamicObject receiver, Object name, Object value) {
+        receiver.define(name, value);
+    }
+
     /**
      * There is a subtle difference between {@link Location#canSet} and {@link Location#canStore}.
      * We need {@link Location#canSet} for the guard of {@link #writeExistingPropertyCached} because
@@ -214,7 +230,7 @@ public abstract class SLWritePropertyCacheNode extends SLPropertyCacheNode {
 
         try {
             /* Perform the foreign object access. */
-            ForeignAccess.sendWrite(foreignWriteNode, frame, receiver, name, value);
+            ForeignAccess.sendWrite(foreignWriteNode, frame, receiver, name, SLContext.toForeignValue(value));
 
         } catch (UnknownIdentifierException | UnsupportedTypeException | UnsupportedMessageException e) {
             /* Foreign access was not successful. */
@@ -40,12 +40,15 @@
  */
 package com.oracle.truffle.sl.nodes.access;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.runtime.SLArray;
+import com.oracle.truffle.sl.runtime.SLRope;
 
 /**
  * The node for writing a property of an object. When executed, this node:
@@ -53,7 +56,8 @@ import com.oracle.truffle.sl.nodes.SLExpressionNode;
  * <li>evaluates the object expression on the left hand side of the object access operator</li>
  * <li>evaluates the property name</li>
  * <li>evaluates the value expression on the right hand side of the assignment operator</li>
- * <li>writes the named property</li>
+ * <li>writes the named property, or the element with the given index if the object is a
+ * {@link SLArray}</li>
  * <li>returns the written value</li>
  * </ol>
  */
@@ -69,8 +73,23 @@ public abstract class SLWritePropertyNode extends SLExpressionNode {
     @Child private SLWritePropertyCacheNode writeNode = SLWritePropertyCacheNodeGen.create();
 
     @Specialization
+    protected Object writeArray(SLArray receiver, Object index, Object value,
+                    @Cached("createWriteElementNode()") SLWriteArrayElementNode writeElementNode) {
+        writeElementNode.executeWrite(receiver, index, value);
+        return value;
+    }
+
+    @Specialization(guards = "!isArray(receiver)")
     protected Object write(VirtualFrame frame, Object receiver, Object name, Object value) {
-        writeNode.executeWrite(frame, receiver, name, value);
+        writeNode.executeWrite(frame, receiver, SLRope.flatten(name), value);
         return value;
     }
+
+    protected static boolean isArray(Object receiver) {
+        return receiver instanceof SLArray;
+    }
+
+    protected static SLWriteArrayElementNode createWriteElementNode() {
+        return SLWriteArrayElementNodeGen.create();
+    }
 }
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.sl.nodes.call;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
@@ -56,6 +57,7 @@ import com.oracle.truffle.api.nodes.IndirectCallNode;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.sl.nodes.interop.SLForeignToSLTypeNode;
 import com.oracle.truffle.sl.nodes.interop.SLForeignToSLTypeNodeGen;
+import com.oracle.truffle.sl.runtime.SLContext;
 import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLUndefinedNameException;
 
@@ -87,12 +89,13 @@ public abstract class SLDispatchNode extends Node {
      * cachedFunction is a final field so that the compiler can optimize the check.
      * </p>
      * <p>
-     * {@code assumptions = "cachedFunction.getCallTargetStable()"} Support for function
-     * redefinition: When a function is redefined, the call target maintained by the SLFunction
-     * object is change. To avoid a check for that, we use an Assumption that is invalidated by the
-     * SLFunction when the change is performed. Since checking an assumption is a no-op in compiled
-     * code, the assumption check performed by the DSL does not add any overhead during optimized
-     * execution.
+     * {@code assumptions = "callTargetStable"} Support for function redefinition: When a function
+     * is redefined, the call target maintained by the SLFunction object is change. To avoid a check
+     * for that, we use an Assumption that is invalidated by the SLFunction when the change is
+     * performed. Since checking an assumption is a no-op in compiled code, the assumption check
+     * performed by the DSL does not add any overhead during optimized execution. The assumption is
+     * cached before the call target, so a function redefined concurrently by another thread is
+     * never cached with the old call target and the new assumption.
      * </p>
      *
      * @see Cached
@@ -100,14 +103,16 @@ public abstract class SLDispatchNode extends Node {
      *
      * @param function the dynamically provided function
      * @param cachedFunction the cached function of the specialization instance
+     * @param callTargetStable the assumption that the call target of cachedFunction is unchanged
      * @param callNode the {@link DirectCallNode} specifically created for the {@link CallTarget} in
      *            cachedFunction.
      */
     @Specialization(limit = "INLINE_CACHE_SIZE", //
                     guards = "function == cachedFunction", //
-                    assumptions = "cachedFunction.getCallTargetStable()")
+                    assumptions = "callTargetStable")
     protected static Object doDirect(VirtualFrame frame, SLFunction function, Object[] arguments,
                     @Cached("function") SLFunction cachedFunction,
+                    @Cached("cachedFunction.getCallTargetStable()") Assumption callTargetStable,
                     @Cached("create(cachedFunction.getCallTarget())") DirectCallNode callNode) {
 
         /* Inline cache hit, we are safe to execute the cached call target. */
@@ -149,8 +154,13 @@ public abstract class SLDispatchNode extends Node {
                     @Cached("createToSLTypeNode()") SLForeignToSLTypeNode toSLTypeNode) {
 
         try {
+            /* Convert the arguments to values understood by other languages. */
+            Object[] foreignArguments = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                foreignArguments[i] = SLContext.toForeignValue(arguments[i]);
+            }
             /* Perform the foreign function call. */
-            Object res = ForeignAccess.sendExecute(crossLanguageCallNode, frame, function, arguments);
+            Object res = ForeignAccess.sendExecute(crossLanguageCallNode, frame, function, foreignArguments);
             /* Convert the result to a SL value. */
             return toSLTypeNode.executeConvert(frame, res);
 
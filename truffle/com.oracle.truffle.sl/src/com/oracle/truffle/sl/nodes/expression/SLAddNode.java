@@ -49,6 +49,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
 import com.oracle.truffle.sl.nodes.SLTypes;
+import com.oracle.truffle.sl.runtime.SLRope;
 
 /**
  * SL node that performs the "+" operation, which performs addition on arbitrary precision numbers,
@@ -108,18 +109,21 @@ public abstract class SLAddNode extends SLBinaryNode {
      * <p>
      * To implement these semantics, we tell the Truffle DSL to use a custom guard. The guard
      * function is defined in {@link #isString this class}, but could also be in any superclass.
+     * <p>
+     * Long results are not copied into a new {@link String}, but represented as a {@link SLRope}
+     * that references both operands. This keeps building a string in a loop linear in the length of
+     * the result.
      */
     @Specialization(guards = "isString(left, right)")
-    @TruffleBoundary
-    protected String add(Object left, Object right) {
-        return left.toString() + right.toString();
+    protected CharSequence add(Object left, Object right) {
+        return SLRope.concat(left, right);
     }
 
     /**
      * Guard for String concatenation: returns true if either the left or the right operand is a
-     * {@link String}.
+     * {@link String} or a {@link SLRope}.
      */
     protected boolean isString(Object a, Object b) {
-        return a instanceof String || b instanceof String;
+        return a instanceof String || b instanceof String || a instanceof SLRope || b instanceof SLRope;
     }
 }
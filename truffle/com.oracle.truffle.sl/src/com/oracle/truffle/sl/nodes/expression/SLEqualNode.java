@@ -46,8 +46,10 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.sl.nodes.SLBinaryNode;
+import com.oracle.truffle.sl.nodes.SLTypes;
 import com.oracle.truffle.sl.runtime.SLFunction;
 import com.oracle.truffle.sl.runtime.SLNull;
+import com.oracle.truffle.sl.runtime.SLRope;
 
 /**
  * The {@code ==} operator of SL is defined on all types. Therefore, we need a
@@ -78,6 +80,19 @@ public abstract class SLEqualNode extends SLBinaryNode {
         return left == right;
     }
 
+    /**
+     * Strings that are the result of a concatenation are represented as {@link SLRope}. They are
+     * equal to a {@link String} or another rope with the same characters. The lengths are compared
+     * first, so that unequal values need not be flattened.
+     * <p>
+     * This specialization must come before {@link #equal(String, String)}, because the
+     * {@link SLTypes#castString implicit cast} would otherwise flatten every rope before comparing.
+     */
+    @Specialization(guards = "isRope(left, right)")
+    protected boolean equalRope(Object left, Object right) {
+        return SLRope.contentEquals(left, right);
+    }
+
     @Specialization
     protected boolean equal(String left, String right) {
         return left.equals(right);
@@ -98,6 +113,10 @@ public abstract class SLEqualNode extends SLBinaryNode {
         return left == right;
     }
 
+    protected static boolean isRope(Object a, Object b) {
+        return a instanceof SLRope || b instanceof SLRope;
+    }
+
     /**
      * We covered all the cases that can return true in the type specializations above. If we
      * compare two values with different types, the result is known to be false.
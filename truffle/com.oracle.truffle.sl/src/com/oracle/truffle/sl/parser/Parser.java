@@ -43,13 +43,18 @@
 
 package com.oracle.truffle.sl.parser;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.sl.SLException;
 import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLLazyFunctionRootNode;
 import com.oracle.truffle.sl.nodes.SLRootNode;
 import com.oracle.truffle.sl.nodes.SLStatementNode;
 
@@ -73,10 +78,24 @@ public class Parser {
     public final Scanner scanner;
     public final Errors errors;
     private final SLNodeFactory factory;
+    private final int charOffset;
+    private final int lineOffset;
+    private final int columnOffset;
     
     public Parser(Source source) {
-        this.scanner = new Scanner(source.getInputStream());
+        this(source, source.getInputStream(), 0, 0, 0);
+    }
+
+    /*
+     * Parses a part of the source. The positions of the scanned tokens are relative to the start
+     * of the code and are moved by the offsets, so that they are positions in the source.
+     */
+    private Parser(Source source, InputStream code, int charOffset, int lineOffset, int columnOffset) {
+        this.scanner = new Scanner(code);
         this.factory = new SLNodeFactory(source);
+        this.charOffset = charOffset;
+        this.lineOffset = lineOffset;
+        this.columnOffset = columnOffset;
         errors = new Errors();
     }
 
@@ -96,6 +115,7 @@ public class Parser {
         for (;;) {
             t = la;
             la = scanner.Scan();
+            relocate(la);
             if (la.kind <= maxT) {
                 ++errDist;
                 break;
@@ -105,6 +125,14 @@ public class Parser {
         }
     }
 
+    private void relocate(Token token) {
+        if (token.line == 1) {
+            token.col += columnOffset;
+        }
+        token.line += lineOffset;
+        token.charPos += charOffset;
+    }
+
     void Expect(int n) {
         if (la.kind == n)
             Get();
@@ -477,14 +505,84 @@ public class Parser {
     public static Map<String, SLRootNode> parseSL(Source source) {
         Parser parser = new Parser(source);
         parser.Parse();
-        if (parser.errors.errors.size() > 0) {
+        parser.checkErrors();
+        return parser.factory.getAllFunctions();
+    }
+
+    /**
+     * Parses only the function boundaries of the source. Every function except {@code main} is
+     * represented by a {@link SLLazyFunctionRootNode} that parses the function when it is called for
+     * the first time. Sources that do not consist of well-formed function boundaries are parsed
+     * eagerly, so that errors are reported.
+     */
+    public static Map<String, SLRootNode> parseSLLazy(Source source) {
+        Map<String, SLRootNode> functions = new HashMap<>();
+        Scanner scanner = new Scanner(source.getInputStream());
+        Token name = null;
+        boolean inFunction = false;
+        int depth = 0;
+        for (Token token = scanner.Scan(); token.kind != _EOF; token = scanner.Scan()) {
+            if (!inFunction) {
+                if (token.kind == _identifier || !"function".equals(token.val)) {
+                    return parseSL(source);
+                }
+                inFunction = true;
+            } else if (name == null) {
+                if (token.kind != _identifier) {
+                    return parseSL(source);
+                }
+                name = token;
+            } else if (token.kind != _stringLiteral && "{".equals(token.val)) {
+                depth++;
+            } else if (token.kind != _stringLiteral && "}".equals(token.val)) {
+                depth--;
+                if (depth < 0) {
+                    return parseSL(source);
+                } else if (depth == 0) {
+                    int end = token.charPos + token.val.length();
+                    SourceSection section = source.createSection(name.val, name.charPos, end - name.charPos);
+                    functions.put(name.val, new SLLazyFunctionRootNode(section));
+                    inFunction = false;
+                    name = null;
+                }
+            }
+        }
+        if (inFunction) {
+            return parseSL(source);
+        }
+        SLRootNode main = functions.get("main");
+        if (main != null) {
+            /* The main function is executed right away. */
+            functions.put("main", parseSLFunction(main.getSourceSection()));
+        }
+        return functions;
+    }
+
+    private static final String FUNCTION_KEYWORD = "function ";
+
+    /**
+     * Parses a single function. The section starts at the name of the function and ends with its
+     * body, like the source section of an eagerly parsed function.
+     */
+    public static SLRootNode parseSLFunction(SourceSection section) {
+        String code = FUNCTION_KEYWORD + section.getCode();
+        InputStream in = new ByteArrayInputStream(code.getBytes());
+        int charOffset = section.getCharIndex() - FUNCTION_KEYWORD.length();
+        int columnOffset = section.getStartColumn() - 1 - FUNCTION_KEYWORD.length();
+        Parser parser = new Parser(section.getSource(), in, charOffset, section.getStartLine() - 1, columnOffset);
+        parser.Parse();
+        parser.checkErrors();
+        return parser.factory.getAllFunctions().get(section.getIdentifier());
+    }
+
+    private void checkErrors() {
+        if (errors.errors.size() > 0) {
             StringBuilder msg = new StringBuilder("Error(s) parsing script:\n");
-            for (String error : parser.errors.errors) {
+            for (String error : errors.errors) {
                 msg.append(error).append("\n");
             }
             throw new SLException(msg.toString());
         }
-        return parser.factory.getAllFunctions();
     }
 } // end Parser
 
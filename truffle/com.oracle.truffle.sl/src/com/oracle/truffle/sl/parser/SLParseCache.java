@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2012, 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.parser;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.NodeVisitor;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.sl.nodes.SLExpressionNode;
+import com.oracle.truffle.sl.nodes.SLLazyFunctionRootNode;
+import com.oracle.truffle.sl.nodes.SLRootNode;
+import com.oracle.truffle.sl.nodes.SLStatementNode;
+
+/**
+ * Reuses the result of parsing SL code. The functions parsed from a source are kept as templates
+ * that are never executed, keyed by the MIME type and the code of the source. Parsing code that
+ * was parsed before only copies the templates, which is considerably cheaper than running the
+ * {@link Parser} again.
+ * <p>
+ * Code is only cached when it is parsed for the second time. Code that is parsed once is not
+ * copied and does not occupy the cache, so the first parse is as fast as without the cache.
+ * <p>
+ * Every parse returns fresh copies, because SL nodes cache values of the context they are
+ * executed in. The copies share the {@link com.oracle.truffle.api.frame.FrameDescriptor} of the
+ * template, like the copies created when a call target is split. If the code was parsed from a
+ * different {@link Source} object, the source sections of the copies are moved to the new source,
+ * so that instrumentation sees the nodes as part of the source that was actually parsed.
+ */
+public final class SLParseCache {
+
+    /* Number of distinct sources whose templates are remembered. */
+    private static final int LIMIT = 32;
+    /* Number of distinct sources that are remembered as parsed once. */
+    private static final int SEEN_LIMIT = 256;
+
+    private final Map<Key, Map<String, SLRootNode>> templates = new LinkedHashMap<Key, Map<String, SLRootNode>>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Map<String, SLRootNode>> eldest) {
+            return size() > LIMIT;
+        }
+    };
+
+    /* Summaries of the keys of code that was parsed once, but is not cached yet. */
+    private final Map<Long, Boolean> seen = new LinkedHashMap<Long, Boolean>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > SEEN_LIMIT;
+        }
+    };
+
+    /**
+     * Returns the functions defined by the source, parsing the source only if the same code was not
+     * parsed before. If {@code lazy} is true, the functions are parsed using
+     * {@link Parser#parseSLLazy}.
+     */
+    public Map<String, SLRootNode> parse(Source source, boolean lazy) {
+        Key key = new Key(source.getMimeType(), source.getCode(), lazy);
+        Long seenKey = key.summary();
+        Map<String, SLRootNode> template;
+        boolean parsedBefore;
+        synchronized (templates) {
+            template = templates.get(key);
+            parsedBefore = template != null || seen.put(seenKey, Boolean.TRUE) != null;
+        }
+        if (template == null) {
+            Map<String, SLRootNode> functions = lazy ? Parser.parseSLLazy(source) : Parser.parseSL(source);
+            if (!parsedBefore) {
+                return functions;
+            }
+            template = functions;
+            synchronized (templates) {
+                templates.put(key, template);
+                seen.remove(seenKey);
+            }
+        }
+        return copy(template, source);
+    }
+
+    private static Map<String, SLRootNode> copy(Map<String, SLRootNode> template, final Source source) {
+        Map<String, SLRootNode> functions = new HashMap<>();
+        for (Map.Entry<String, SLRootNode> entry : template.entrySet()) {
+            SLRootNode templateRoot = entry.getValue();
+            if (templateRoot instanceof SLLazyFunctionRootNode) {
+                SourceSection section = relocate(templateRoot.getSourceSection(), source);
+                functions.put(entry.getKey(), new SLLazyFunctionRootNode(section));
+                continue;
+            }
+            SLExpressionNode body = NodeUtil.cloneNode(templateRoot.getBodyNode());
+            SourceSection section = templateRoot.getSourceSection();
+            if (section.getSource() != source) {
+                section = relocate(section, source);
+                body.accept(new NodeVisitor() {
+                    public boolean visit(Node node) {
+                        if (node instanceof SLStatementNode) {
+                            ((SLStatementNode) node).relocateSourceSection(source);
+                        }
+                        return true;
+                    }
+                });
+            }
+            functions.put(entry.getKey(), new SLRootNode(templateRoot.getFrameDescriptor(), body, section, templateRoot.getName()));
+        }
+        return functions;
+    }
+
+    private static SourceSection relocate(SourceSection section, Source source) {
+        if (section.getSource() == source) {
+            return section;
+        }
+        return source.createSection(section.getIdentifier(), section.getStartLine(), section.getStartColumn(), section.getCharIndex(), section.getCharLength());
+    }
+
+    private static final class Key {
+        private final String mimeType;
+        private final String code;
+        private final boolean lazy;
+        private final int hash;
+
+        Key(String mimeType, String code, boolean lazy) {
+            this.mimeType = mimeType;
+            this.code = code;
+            this.lazy = lazy;
+            this.hash = 31 * (31 * (mimeType == null ? 0 : mimeType.hashCode()) + code.hashCode()) + (lazy ? 1 : 0);
+        }
+
+        /* The hash code and length of the code, standing in for the key in the seen map. */
+        long summary() {
+            return ((long) hash << 32) | code.length();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && lazy == other.lazy && (mimeType == null ? other.mimeType == null : mimeType.equals(other.mimeType)) && code.equals(other.code);
+        }
+    }
+}
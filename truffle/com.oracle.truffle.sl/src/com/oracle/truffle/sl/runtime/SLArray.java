@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.TruffleObject;
+
+/**
+ * The SL array type. Elements are addressed by a zero based index, and writing the element one
+ * past the end appends it, so arrays grow as needed.
+ * <p>
+ * The elements are stored using a storage strategy: a new array has no storage at all. The first
+ * write allocates a {@code long[]} if the element is a {@code long}, so that arrays of numbers are
+ * stored unboxed. The first element that does not fit into the current storage moves all elements
+ * to an {@code Object[]}. The strategy of an array never goes back to a more specific one, so the
+ * {@link com.oracle.truffle.sl.nodes.access.SLReadArrayElementNode element access nodes} only
+ * see a limited number of transitions.
+ */
+public final class SLArray implements TruffleObject {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /* Either null, a long[], or an Object[]. */
+    private Object store;
+    private int size;
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmptyStrategy() {
+        return store == null;
+    }
+
+    public boolean isLongStrategy() {
+        return store instanceof long[];
+    }
+
+    public boolean isObjectStrategy() {
+        return store instanceof Object[];
+    }
+
+    /**
+     * Returns true if the index denotes an existing element.
+     */
+    public boolean isInBounds(long index) {
+        return index >= 0 && index < size;
+    }
+
+    /**
+     * Returns true if the index denotes an existing element or the element that is appended.
+     */
+    public boolean isWritable(long index) {
+        return index >= 0 && index <= size;
+    }
+
+    public long readLong(long index) {
+        assert isLongStrategy() && isInBounds(index);
+        return ((long[]) store)[(int) index];
+    }
+
+    public Object readObject(long index) {
+        assert isObjectStrategy() && isInBounds(index);
+        return ((Object[]) store)[(int) index];
+    }
+
+    public void writeLong(long index, long value) {
+        assert isLongStrategy() && isWritable(index);
+        long[] longs = (long[]) store;
+        if (index == longs.length) {
+            longs = growLongs(longs);
+        }
+        longs[(int) index] = value;
+        if (index == size) {
+            size++;
+        }
+    }
+
+    public void writeObject(long index, Object value) {
+        assert isObjectStrategy() && isWritable(index);
+        Object[] objects = (Object[]) store;
+        if (index == objects.length) {
+            objects = growObjects(objects);
+        }
+        objects[(int) index] = value;
+        if (index == size) {
+            size++;
+        }
+    }
+
+    /**
+     * Writes an element that does not fit into the current storage. The storage is changed to the
+     * most specific strategy that can hold all elements.
+     */
+    @TruffleBoundary
+    public void writeGeneralize(long index, Object value) {
+        assert isWritable(index);
+        if (isEmptyStrategy() && value instanceof Long) {
+            store = new long[INITIAL_CAPACITY];
+            writeLong(index, (long) value);
+            return;
+        }
+        if (!isObjectStrategy()) {
+            Object[] objects = new Object[Math.max(INITIAL_CAPACITY, size)];
+            if (isLongStrategy()) {
+                long[] longs = (long[]) store;
+                for (int i = 0; i < size; i++) {
+                    objects[i] = longs[i];
+                }
+            }
+            store = objects;
+        }
+        writeObject(index, value);
+    }
+
+    /**
+     * Reads an element without specializing on the storage strategy.
+     */
+    public Object read(long index) {
+        if (isLongStrategy()) {
+            return readLong(index);
+        } else {
+            return readObject(index);
+        }
+    }
+
+    @TruffleBoundary
+    private long[] growLongs(long[] longs) {
+        long[] result = Arrays.copyOf(longs, longs.length * 2);
+        store = result;
+        return result;
+    }
+
+    @TruffleBoundary
+    private Object[] growObjects(Object[] objects) {
+        Object[] result = Arrays.copyOf(objects, objects.length * 2);
+        store = result;
+        return result;
+    }
+
+    /**
+     * This method is, e.g., called when printing an array. The elements are printed like in a
+     * string concatenation.
+     */
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object element = read(i);
+            sb.append(element == this ? "[...]" : element);
+        }
+        return sb.append("]").toString();
+    }
+
+    @Override
+    public ForeignAccess getForeignAccess() {
+        return SLArrayMessageResolutionForeign.createAccess();
+    }
+}
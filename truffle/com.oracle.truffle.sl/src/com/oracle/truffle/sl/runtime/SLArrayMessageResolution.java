@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.CanResolve;
+import com.oracle.truffle.api.interop.MessageResolution;
+import com.oracle.truffle.api.interop.Resolve;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.nodes.access.SLReadArrayElementNode;
+import com.oracle.truffle.sl.nodes.access.SLReadArrayElementNodeGen;
+import com.oracle.truffle.sl.nodes.access.SLWriteArrayElementNode;
+import com.oracle.truffle.sl.nodes.access.SLWriteArrayElementNodeGen;
+import com.oracle.truffle.sl.nodes.interop.SLForeignToSLTypeNode;
+import com.oracle.truffle.sl.nodes.interop.SLForeignToSLTypeNodeGen;
+
+/**
+ * The class containing all message resolution implementations of {@link SLArray}.
+ */
+@MessageResolution(receiverType = SLArray.class, language = SLLanguage.class)
+public class SLArrayMessageResolution {
+    /*
+     * An SL array has a size.
+     */
+    @Resolve(message = "HAS_SIZE")
+    public abstract static class SLForeignArrayHasSizeNode extends Node {
+
+        public Object access(Object receiver) {
+            return receiver instanceof SLArray;
+        }
+    }
+
+    /*
+     * An SL array resolves the GET_SIZE message to the number of its elements.
+     */
+    @Resolve(message = "GET_SIZE")
+    public abstract static class SLForeignArrayGetSizeNode extends Node {
+
+        public Object access(SLArray receiver) {
+            return receiver.getSize();
+        }
+    }
+
+    /*
+     * An SL array resolves the READ message and maps it to an element read.
+     */
+    @Resolve(message = "READ")
+    public abstract static class SLForeignArrayReadNode extends Node {
+
+        @Child private SLReadArrayElementNode read = SLReadArrayElementNodeGen.create();
+        @Child private SLForeignToSLTypeNode indexToSLType = SLForeignToSLTypeNodeGen.create();
+
+        public Object access(VirtualFrame frame, SLArray receiver, Object index) {
+            Object convertedIndex = indexToSLType.executeConvert(frame, index);
+            return SLContext.toForeignValue(read.executeRead(receiver, convertedIndex));
+        }
+    }
+
+    /*
+     * An SL array resolves the WRITE message and maps it to an element write. Writing the element
+     * after the last one appends it.
+     */
+    @Resolve(message = "WRITE")
+    public abstract static class SLForeignArrayWriteNode extends Node {
+
+        @Child private SLWriteArrayElementNode write = SLWriteArrayElementNodeGen.create();
+        @Child private SLForeignToSLTypeNode indexToSLType = SLForeignToSLTypeNodeGen.create();
+        @Child private SLForeignToSLTypeNode valueToSLType = SLForeignToSLTypeNodeGen.create();
+
+        public Object access(VirtualFrame frame, SLArray receiver, Object index, Object value) {
+            Object convertedIndex = indexToSLType.executeConvert(frame, index);
+            Object convertedValue = valueToSLType.executeConvert(frame, value);
+            write.executeWrite(receiver, convertedIndex, convertedValue);
+            return convertedValue;
+        }
+    }
+
+    @CanResolve
+    public abstract static class CheckArray extends Node {
+
+        protected static boolean test(TruffleObject receiver) {
+            return receiver instanceof SLArray;
+        }
+    }
+}
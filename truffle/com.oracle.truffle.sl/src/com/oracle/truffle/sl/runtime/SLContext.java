@@ -60,12 +60,14 @@ import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import com.oracle.truffle.sl.SLLanguage;
+import com.oracle.truffle.sl.builtins.SLArrayLengthBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLBuiltinNode;
 import com.oracle.truffle.sl.builtins.SLDefineFunctionBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLEvalBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLHelloEqualsWorldBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLImportBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLNanoTimeBuiltinFactory;
+import com.oracle.truffle.sl.builtins.SLNewArrayBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLNewObjectBuiltinFactory;
 import com.oracle.truffle.sl.builtins.SLPrintlnBuiltin;
 import com.oracle.truffle.sl.builtins.SLPrintlnBuiltinFactory;
@@ -85,18 +87,20 @@ import com.oracle.truffle.sl.nodes.local.SLReadArgumentNode;
  * context. Therefore, the context is not a singleton.
  */
 public final class SLContext extends ExecutionContext {
-    private static final Layout LAYOUT = Layout.createLayout();
+    private static final Layout LAYOUT = Layout.newLayout().setDictionaryMode(true).build();
 
     private final BufferedReader input;
     private final PrintWriter output;
     private final SLFunctionRegistry functionRegistry;
     private final Shape emptyShape;
     private final TruffleLanguage.Env env;
+    private final boolean lazyParsing;
 
     public SLContext(TruffleLanguage.Env env, BufferedReader input, PrintWriter output) {
         this.input = input;
         this.output = output;
         this.env = env;
+        this.lazyParsing = env != null && Boolean.TRUE.equals(env.getConfig().get(SLLanguage.LAZY_PARSING));
         this.functionRegistry = new SLFunctionRegistry();
         installBuiltins();
 
@@ -119,6 +123,14 @@ public final class SLContext extends ExecutionContext {
         return output;
     }
 
+    /**
+     * Returns true if function bodies are parsed when the function is called for the first time.
+     * Enabled by the {@link SLLanguage#LAZY_PARSING} configuration of the engine.
+     */
+    public boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
     /**
      * Returns the registry of all functions that are currently defined.
      */
@@ -138,6 +150,8 @@ public final class SLContext extends ExecutionContext {
         installBuiltin(SLStackTraceBuiltinFactory.getInstance());
         installBuiltin(SLHelloEqualsWorldBuiltinFactory.getInstance());
         installBuiltin(SLNewObjectBuiltinFactory.getInstance());
+        installBuiltin(SLNewArrayBuiltinFactory.getInstance());
+        installBuiltin(SLArrayLengthBuiltinFactory.getInstance());
         installBuiltin(SLEvalBuiltinFactory.getInstance());
         installBuiltin(SLImportBuiltinFactory.getInstance());
     }
@@ -228,6 +242,14 @@ public final class SLContext extends ExecutionContext {
         return ((Number) a).longValue();
     }
 
+    /**
+     * Converts a SL value before it is passed to another language. Internal representations that
+     * other languages do not know, i.e., {@link SLRope}, are replaced by a {@link String}.
+     */
+    public static Object toForeignValue(Object a) {
+        return SLRope.flatten(a);
+    }
+
     public CallTarget parse(Source source) throws IOException {
         return env.parse(source);
     }
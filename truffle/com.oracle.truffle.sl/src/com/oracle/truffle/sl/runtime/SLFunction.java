@@ -64,6 +64,11 @@ import com.oracle.truffle.sl.nodes.SLUndefinedFunctionRootNode;
  * per name exists, the {@link SLFunctionRegistry} creates an instance also when performing name
  * lookup. A function that has been looked up, i.e., used, but not defined, has a call target that
  * encapsulates a {@link SLUndefinedFunctionRootNode}.
+ * <p>
+ * Functions can be redefined while other threads call them. The new call target is published
+ * before the assumption is invalidated, so a caller that reads the {@link #getCallTargetStable()
+ * assumption} first and the {@link #getCallTarget() call target} second either gets the new call
+ * target or an assumption that is already invalid or about to be invalidated.
  */
 public final class SLFunction implements TruffleObject {
 
@@ -71,7 +76,7 @@ public final class SLFunction implements TruffleObject {
     private final String name;
 
     /** The current implementation of this function. */
-    private RootCallTarget callTarget;
+    private volatile RootCallTarget callTarget;
 
     /**
      * Manages the assumption that the {@link #callTarget} is stable. We use the utility class
@@ -90,7 +95,7 @@ public final class SLFunction implements TruffleObject {
         return name;
     }
 
-    protected void setCallTarget(RootCallTarget callTarget) {
+    protected synchronized void setCallTarget(RootCallTarget callTarget) {
         this.callTarget = callTarget;
         /*
          * We have a new call target. Invalidate all code that speculated that the old call target
@@ -99,6 +104,16 @@ public final class SLFunction implements TruffleObject {
         callTargetStable.invalidate();
     }
 
+    /**
+     * Sets the call target only if the current call target is the expected one, i.e., the function
+     * was not redefined in the meantime.
+     */
+    protected synchronized void replaceCallTarget(RootCallTarget expected, RootCallTarget newCallTarget) {
+        if (this.callTarget == expected) {
+            setCallTarget(newCallTarget);
+        }
+    }
+
     public RootCallTarget getCallTarget() {
         return callTarget;
     }
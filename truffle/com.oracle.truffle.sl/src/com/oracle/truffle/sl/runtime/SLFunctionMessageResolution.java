@@ -41,6 +41,7 @@
 package com.oracle.truffle.sl.runtime;
 
 import static com.oracle.truffle.sl.runtime.SLContext.fromForeignValue;
+import static com.oracle.truffle.sl.runtime.SLContext.toForeignValue;
 
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.CanResolve;
@@ -73,7 +74,7 @@ public class SLFunctionMessageResolution {
                 arr[i] = fromForeignValue(arguments[i]);
             }
             Object result = dispatch.executeDispatch(frame, receiver, arr);
-            return result;
+            return toForeignValue(result);
         }
     }
 
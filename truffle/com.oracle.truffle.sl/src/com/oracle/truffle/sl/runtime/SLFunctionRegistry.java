@@ -43,20 +43,30 @@ package com.oracle.truffle.sl.runtime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.sl.nodes.SLRootNode;
 
 /**
- * Manages the mapping from function names to {@link SLFunction function objects}.
+ * Manages the mapping from function names to {@link SLFunction function objects}. The registry can
+ * be used by multiple threads at once: there is always exactly one {@link SLFunction} per name,
+ * even when several threads look it up for the first time concurrently.
  */
 public final class SLFunctionRegistry {
 
-    private final Map<String, SLFunction> functions = new HashMap<>();
+    private final ConcurrentMap<String, SLFunction> functions = new ConcurrentHashMap<>();
+
+    /**
+     * Sorted snapshot of {@link #functions}, discarded whenever a new name is added. Names are never
+     * removed, so a snapshot that a racing {@link #getFunctions()} publishes after the discard is
+     * recognized as stale by its size.
+     */
+    private volatile List<SLFunction> sortedFunctions;
 
     /**
      * Returns the canonical {@link SLFunction} object for the given name. If it does not exist yet,
@@ -65,8 +75,12 @@ public final class SLFunctionRegistry {
     public SLFunction lookup(String name, boolean createIfNotPresent) {
         SLFunction result = functions.get(name);
         if (result == null && createIfNotPresent) {
-            result = new SLFunction(name);
-            functions.put(name, result);
+            SLFunction newFunction = new SLFunction(name);
+            result = functions.putIfAbsent(name, newFunction);
+            if (result == null) {
+                result = newFunction;
+                sortedFunctions = null;
+            }
         }
         return result;
     }
@@ -83,6 +97,17 @@ public final class SLFunctionRegistry {
         return function;
     }
 
+    /**
+     * Replaces the preliminary implementation of a function, e.g., a function that is not parsed
+     * yet. If the function was redefined in the meantime, the redefinition is kept.
+     */
+    public void replace(String name, RootCallTarget preliminary, RootCallTarget callTarget) {
+        SLFunction function = lookup(name, false);
+        if (function != null) {
+            function.replaceCallTarget(preliminary, callTarget);
+        }
+    }
+
     public void register(Map<String, SLRootNode> newFunctions) {
         for (Map.Entry<String, SLRootNode> entry : newFunctions.entrySet()) {
             register(entry.getKey(), entry.getValue());
@@ -90,15 +115,21 @@ public final class SLFunctionRegistry {
     }
 
     /**
-     * Returns the sorted list of all functions, for printing purposes only.
+     * Returns the sorted list of all functions, for printing purposes only. The returned list is
+     * unmodifiable and shared until another function is added.
      */
     public List<SLFunction> getFunctions() {
-        List<SLFunction> result = new ArrayList<>(functions.values());
-        Collections.sort(result, new Comparator<SLFunction>() {
-            public int compare(SLFunction f1, SLFunction f2) {
-                return f1.toString().compareTo(f2.toString());
-            }
-        });
+        List<SLFunction> result = sortedFunctions;
+        if (result == null || result.size() != functions.size()) {
+            List<SLFunction> sorted = new ArrayList<>(functions.values());
+            Collections.sort(sorted, new Comparator<SLFunction>() {
+                public int compare(SLFunction f1, SLFunction f2) {
+                    return f1.toString().compareTo(f2.toString());
+                }
+            });
+            result = Collections.unmodifiableList(sorted);
+            sortedFunctions = result;
+        }
         return result;
     }
 }
@@ -90,7 +90,7 @@ public class SLObjectMessageResolution {
 
         public Object access(VirtualFrame frame, DynamicObject receiver, Object name) {
             Object convertedName = nameToSLType.executeConvert(frame, name);
-            return read.executeRead(frame, receiver, convertedName);
+            return SLContext.toForeignValue(read.executeRead(frame, receiver, convertedName));
         }
     }
 
@@ -116,7 +116,7 @@ public class SLObjectMessageResolution {
                     arr[i] = SLContext.fromForeignValue(arguments[i]);
                 }
                 Object result = dispatch.executeDispatch(frame, function, arr);
-                return result;
+                return SLContext.toForeignValue(result);
             } else {
                 throw UnknownIdentifierException.raise(name);
             }
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.sl.runtime;
+
+import java.util.ArrayDeque;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The SL representation of a string that is the result of a concatenation. Appending to a
+ * {@link String} copies both operands, so building a string piece by piece in a loop is quadratic
+ * in the length of the result. A rope only remembers its two operands, and the characters are
+ * copied into a {@link String} once, when the value is actually needed as a {@link String} (e.g.,
+ * when it is printed, used as a property name, or passed to another language).
+ * <p>
+ * Ropes are an internal representation: SL programs cannot distinguish a rope from a
+ * {@link String} with the same characters. Values leaving SL are converted with
+ * {@link SLContext#toForeignValue}.
+ * <p>
+ * Like other {@link CharSequence} implementations, a rope does not override {@link #equals} and
+ * {@link #hashCode}: ropes are compared by identity. Values are {@link #flatten(Object) flattened}
+ * before they are used as keys, e.g. as property names, and compared with
+ * {@link #contentEquals(Object, Object)}.
+ */
+public final class SLRope implements CharSequence {
+
+    /**
+     * Results of a concatenation that are not longer than this are flattened immediately. Copying
+     * a few characters is cheaper than allocating and later traversing the tree.
+     */
+    static final int FLAT_LIMIT = 32;
+
+    /*
+     * The operands, cleared once the rope is flattened so that the tree can be collected. The
+     * flattened string is published before the operands are cleared: a reader that finds an operand
+     * cleared finds the flattened string. Computing it twice in a race is harmless.
+     */
+    private volatile CharSequence left;
+    private volatile CharSequence right;
+    private final int length;
+    private volatile String flattened;
+
+    private SLRope(CharSequence left, CharSequence right, int length) {
+        this.left = left;
+        this.right = right;
+        this.length = length;
+    }
+
+    /**
+     * Concatenates the string representations of the two values. Operands that are neither a
+     * {@link String} nor a rope are converted using {@link Object#toString()}.
+     */
+    @TruffleBoundary
+    public static CharSequence concat(Object left, Object right) {
+        CharSequence l = toCharSequence(left);
+        CharSequence r = toCharSequence(right);
+        int length = l.length() + r.length();
+        if (length < 0) {
+            throw new OutOfMemoryError("String too long");
+        }
+        if (r.length() == 0) {
+            return l;
+        } else if (l.length() == 0) {
+            return r;
+        } else if (length <= FLAT_LIMIT) {
+            return l.toString().concat(r.toString());
+        }
+        return new SLRope(l, r, length);
+    }
+
+    private static CharSequence toCharSequence(Object value) {
+        if (value instanceof String || value instanceof SLRope) {
+            return (CharSequence) value;
+        }
+        return value.toString();
+    }
+
+    /**
+     * Returns the value, or its flattened {@link String} if the value is a rope.
+     */
+    public static Object flatten(Object value) {
+        if (value instanceof SLRope) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    /**
+     * Compares the characters of two strings or ropes. Values that differ in length are never
+     * flattened. Returns {@code false} if either value is neither a {@link String} nor a rope.
+     */
+    @TruffleBoundary
+    public static boolean contentEquals(Object left, Object right) {
+        if (!(left instanceof String || left instanceof SLRope) || !(right instanceof String || right instanceof SLRope)) {
+            return false;
+        }
+        CharSequence l = (CharSequence) left;
+        CharSequence r = (CharSequence) right;
+        if (l == r) {
+            return true;
+        } else if (l.length() != r.length()) {
+            return false;
+        }
+        return l.toString().equals(r.toString());
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * Returns the characters of this rope as a {@link String}. The tree is traversed iteratively,
+     * because ropes built in a loop are as deep as the number of iterations.
+     */
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        String result = flattened;
+        if (result == null) {
+            result = flatten();
+            flattened = result;
+            left = null;
+            right = null;
+        }
+        return result;
+    }
+
+    private String flatten() {
+        char[] chars = new char[length];
+        int offset = 0;
+        ArrayDeque<CharSequence> pending = new ArrayDeque<>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            CharSequence next = pending.pop();
+            String string = null;
+            if (next instanceof SLRope) {
+                SLRope rope = (SLRope) next;
+                string = rope.flattened;
+                if (string == null) {
+                    CharSequence l = rope.left;
+                    CharSequence r = rope.right;
+                    if (l != null && r != null) {
+                        pending.push(r);
+                        pending.push(l);
+                        continue;
+                    }
+                    // flattened by another thread in the meantime
+                    string = rope.flattened;
+                }
+            } else {
+                string = (String) next;
+            }
+            string.getChars(0, string.length(), chars, offset);
+            offset += string.length();
+        }
+        assert offset == length;
+        return new String(chars);
+    }
+}
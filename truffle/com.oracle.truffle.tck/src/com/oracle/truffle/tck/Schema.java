@@ -25,7 +25,9 @@
 package com.oracle.truffle.tck;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 final class Schema {
 
@@ -41,80 +43,49 @@ final class Schema {
     }
 
     private final int size;
-    private final boolean rowBased;
-    private final List<String> names;
-    private final List<Type> types;
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final Type[] types;
+    private final int[] bases;
+    private final int[] strides;
 
     Schema(int size, boolean rowBased, List<String> names, List<Type> types) {
         this.size = size;
-        this.rowBased = rowBased;
-        this.names = names;
-        this.types = types;
-    }
-
-    public int length() {
-        return size;
-    }
-
-    public Object get(byte[] buffer, int index, String name) {
-        assert names.contains(name);
-        int offset = rowBased ? getRowOffset(name, index) : getColumnOffset(name, index);
-        if (types.get(names.indexOf(name)) == Type.DOUBLE) {
-            byte[] b = new byte[Type.DOUBLE.size];
-            for (int i = 0; i < Type.DOUBLE.size; i++) {
-                b[i] = buffer[offset + i];
-            }
-            return ByteBuffer.wrap(b).getDouble();
-        } else if (types.get(names.indexOf(name)) == Type.INT) {
-            byte[] b = new byte[Type.INT.size];
-            for (int i = 0; i < Type.INT.size; i++) {
-                b[i] = buffer[offset + i];
-            }
-            return ByteBuffer.wrap(b).getInt();
-        }
-        throw new IllegalStateException();
-    }
-
-    private int getRowSize() {
-        assert rowBased;
+        this.types = types.toArray(new Type[types.size()]);
+        this.bases = new int[this.types.length];
+        this.strides = new int[this.types.length];
         int rowSize = 0;
         for (Type t : types) {
             rowSize += t.size;
         }
-        return rowSize;
-    }
-
-    private int getRowOffset(String name, int index) {
-        assert rowBased;
-        if (names.contains(name)) {
-            int offset = 0;
-            for (int i = 0; i < names.size(); i++) {
-                if (names.get(i).equals(name)) {
-                    return index * getRowSize() + offset;
-                } else {
-                    offset += types.get(i).size;
-                }
+        int offset = 0;
+        for (int i = 0; i < this.types.length; i++) {
+            indices.put(names.get(i), i);
+            bases[i] = offset;
+            if (rowBased) {
+                strides[i] = rowSize;
+                offset += this.types[i].size;
+            } else {
+                strides[i] = this.types[i].size;
+                offset += this.types[i].size * size;
             }
-        } else {
-            throw new IllegalArgumentException();
         }
-        throw new IllegalStateException();
     }
 
-    private int getColumnOffset(String name, int index) {
-        assert !rowBased;
-        if (names.contains(name)) {
-            int offset = 0;
-            for (int i = 0; i < names.size(); i++) {
-                if (names.get(i).equals(name)) {
-                    return offset + index * types.get(i).size;
-                } else {
-                    offset += types.get(i).size * size;
-                }
-            }
-        } else {
+    public int length() {
+        return size;
+    }
+
+    public Object get(byte[] buffer, int index, String name) {
+        Integer field = indices.get(name);
+        if (field == null) {
             throw new IllegalArgumentException();
         }
+        int offset = bases[field] + index * strides[field];
+        if (types[field] == Type.DOUBLE) {
+            return ByteBuffer.wrap(buffer).getDouble(offset);
+        } else if (types[field] == Type.INT) {
+            return ByteBuffer.wrap(buffer).getInt(offset);
+        }
         throw new IllegalStateException();
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.instrumentation.AbstractInstrumentationTest;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.tools.SamplingProfiler.CallTreeNode;
+
+public class SamplingProfilerTest extends AbstractInstrumentationTest {
+
+    private SamplingProfiler sampler;
+
+    // Checkstyle: stop
+    private final Source source = lines("ROOT(",
+                    "DEFINE(foo,ROOT(LOOP(100, EXPRESSION))),",
+                    "DEFINE(bar,ROOT(LOOP(100, CALL(foo)))),",
+                    "LOOP(100, CALL(bar))",
+                    ")");
+    // Checkstyle: resume
+
+    @Before
+    public void setupSampler() {
+        sampler = SamplingProfiler.find(engine);
+        Assert.assertNotNull(sampler);
+        Assert.assertSame(sampler, SamplingProfiler.find(engine));
+    }
+
+    @Test
+    public void testCollectSamples() throws IOException {
+        Assert.assertFalse(sampler.isCollecting());
+        Assert.assertFalse(sampler.hasData());
+
+        sampler.setPeriod(1);
+        sampler.setCollecting(true);
+        Assert.assertTrue(sampler.isCollecting());
+        Assert.assertEquals(1, sampler.getPeriod());
+
+        for (int i = 0; i < 1000 && sampler.getSampleCount() < 10; i++) {
+            run(source);
+        }
+        sampler.setCollecting(false);
+
+        long samples = sampler.getSampleCount();
+        Assert.assertTrue(sampler.hasData());
+        Assert.assertTrue(samples >= 10);
+
+        Collection<CallTreeNode> roots = sampler.getRootNodes();
+        Assert.assertEquals(1, roots.size());
+        CallTreeNode root = roots.iterator().next();
+        Assert.assertEquals(samples, root.getTotalSamples());
+        assertTotalIsSelfAndChildren(root);
+
+        for (CallTreeNode bar : root.getChildren()) {
+            Assert.assertEquals("bar", bar.getName());
+            for (CallTreeNode foo : bar.getChildren()) {
+                Assert.assertEquals("foo", foo.getName());
+                Assert.assertTrue(foo.getChildren().isEmpty());
+            }
+        }
+
+        ByteArrayOutputStream collapsed = new ByteArrayOutputStream();
+        sampler.printCollapsedStacks(new PrintStream(collapsed, true));
+        long printed = 0;
+        for (String line : collapsed.toString().split("\n")) {
+            Assert.assertTrue(line, line.startsWith(root.getDescription()));
+            printed += Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+        }
+        Assert.assertEquals(samples, printed);
+
+        // no more samples are taken
+        run(source);
+        Assert.assertEquals(samples, sampler.getSampleCount());
+
+        sampler.clearData();
+        Assert.assertFalse(sampler.hasData());
+        Assert.assertTrue(sampler.getRootNodes().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPeriod() {
+        sampler.setPeriod(0);
+    }
+
+    private static void assertTotalIsSelfAndChildren(CallTreeNode node) {
+        long total = node.getSelfSamples();
+        for (CallTreeNode child : node.getChildren()) {
+            assertTotalIsSelfAndChildren(child);
+            total += child.getTotalSamples();
+        }
+        Assert.assertEquals(node.getTotalSamples(), total);
+    }
+}
@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.tools;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.EventBinding;
+import com.oracle.truffle.api.instrumentation.EventContext;
+import com.oracle.truffle.api.instrumentation.ExecutionEventNode;
+import com.oracle.truffle.api.instrumentation.ExecutionEventNodeFactory;
+import com.oracle.truffle.api.instrumentation.Instrumenter;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.instrumentation.StandardTags;
+import com.oracle.truffle.api.nodes.NodeCost;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+
+/**
+ * Low overhead sampling profiler for Truffle guest languages.
+ * <p>
+ * Unlike the {@link Profiler}, which counts and times every invocation, the sampling profiler only
+ * maintains a lightweight stack of the guest {@linkplain StandardTags.RootTag roots} being executed
+ * by each thread. A background thread periodically captures these stacks and aggregates them into
+ * a {@linkplain #getRootNodes() call tree} with self and total sample counts. Like the
+ * {@link Profiler} it is <em>language-agnostic</em> and only relies on correct tagging of
+ * {@linkplain RootNode root nodes} by each {@linkplain TruffleLanguage guest language
+ * implementation}.
+ * <p>
+ * The collected call tree can be {@linkplain #printCollapsedStacks(PrintStream) printed} in the
+ * collapsed stack format understood by flame graph tools.
+ *
+ * @since 0.16
+ */
+public final class SamplingProfiler {
+
+    /**
+     * Finds sampling profiler associated with given engine. There is at most one sampling profiler
+     * associated with any {@link PolyglotEngine}.
+     *
+     * @param engine the engine to find sampling profiler for
+     * @return an instance of associated sampling profiler, never <code>null</code>
+     * @since 0.16
+     */
+    public static SamplingProfiler find(PolyglotEngine engine) {
+        PolyglotEngine.Instrument instrument = engine.getInstruments().get(SamplerInstrument.ID);
+        if (instrument == null) {
+            throw new IllegalStateException();
+        }
+        instrument.setEnabled(true);
+        return instrument.lookup(SamplerInstrument.class).getSampler(true);
+    }
+
+    private static final long DEFAULT_PERIOD = 10;
+
+    private final Instrumenter instrumenter;
+
+    private boolean isCollecting;
+
+    private long period = DEFAULT_PERIOD;
+
+    @SuppressWarnings("rawtypes") private EventBinding binding;
+
+    private ShadowStacks stacks;
+
+    private Timer timer;
+
+    private final CallTreeNode rootNode = new CallTreeNode(null, "<root>");
+
+    private long samples;
+
+    private boolean disposed;
+
+    SamplingProfiler(Instrumenter instrumenter) {
+        this.instrumenter = instrumenter;
+    }
+
+    synchronized void dispose() {
+        if (!disposed) {
+            stop();
+            rootNode.children.clear();
+            disposed = true;
+        }
+    }
+
+    /**
+     * Controls whether samples are being collected, {@code false} by default.
+     * <p>
+     * Any collected data remains available while collecting is turned off. Unless explicitly
+     * {@linkplain #clearData() cleared}, previously collected data will be included when collection
+     * resumes.
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized void setCollecting(boolean isCollecting) {
+        checkDisposed();
+        if (this.isCollecting != isCollecting) {
+            this.isCollecting = isCollecting;
+            reset();
+        }
+    }
+
+    /**
+     * Are samples currently being collected (default {@code false})?
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized boolean isCollecting() {
+        checkDisposed();
+        return isCollecting;
+    }
+
+    /**
+     * Sets the period between two samples in milliseconds, 10 by default. If samples are currently
+     * being collected, the new period is used immediately.
+     *
+     * @param millis the sampling period, must be positive
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized void setPeriod(long millis) {
+        checkDisposed();
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Sampling period must be positive: " + millis);
+        }
+        if (this.period != millis) {
+            this.period = millis;
+            reset();
+        }
+    }
+
+    /**
+     * Gets the period between two samples in milliseconds.
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized long getPeriod() {
+        checkDisposed();
+        return period;
+    }
+
+    /**
+     * Is any data currently collected?
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized boolean hasData() {
+        checkDisposed();
+        return samples > 0;
+    }
+
+    /**
+     * Number of samples that captured running guest code since the last time data was
+     * {@linkplain #clearData() cleared}.
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized long getSampleCount() {
+        checkDisposed();
+        return samples;
+    }
+
+    /**
+     * Removes all collected samples.
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized void clearData() {
+        checkDisposed();
+        rootNode.children.clear();
+        samples = 0;
+    }
+
+    /**
+     * Gets the outermost nodes of the collected call tree; one for each root found at the bottom of
+     * a sampled stack.
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized Collection<CallTreeNode> getRootNodes() {
+        checkDisposed();
+        return rootNode.getChildren();
+    }
+
+    /**
+     * Prints the collected call tree in the collapsed stack format used by flame graph tools. Each
+     * line lists the frames of one sampled stack, outermost first and separated by {@code ;},
+     * followed by a space and the number of samples taken with exactly this stack.
+     *
+     * @throws IllegalStateException if disposed
+     * @since 0.16
+     */
+    public synchronized void printCollapsedStacks(PrintStream out) {
+        checkDisposed();
+        StringBuilder prefix = new StringBuilder();
+        for (CallTreeNode node : rootNode.children.values()) {
+            printCollapsedStacks(out, prefix, node);
+        }
+    }
+
+    private static void printCollapsedStacks(PrintStream out, StringBuilder prefix, CallTreeNode node) {
+        int length = prefix.length();
+        if (length > 0) {
+            prefix.append(';');
+        }
+        prefix.append(node.getDescription());
+        if (node.selfSamples > 0) {
+            out.println(prefix + " " + node.selfSamples);
+        }
+        for (CallTreeNode child : node.children.values()) {
+            printCollapsedStacks(out, prefix, child);
+        }
+        prefix.setLength(length);
+    }
+
+    private void checkDisposed() {
+        if (disposed) {
+            throw new IllegalStateException("disposed sampling profiler");
+        }
+    }
+
+    private void stop() {
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
+        }
+        if (binding != null) {
+            binding.dispose();
+            binding = null;
+        }
+        stacks = null;
+    }
+
+    // Reconfigure what's being collected; does not affect collected data
+    private void reset() {
+        stop();
+        if (isCollecting) {
+            final ShadowStacks newStacks = new ShadowStacks();
+            final SourceSectionFilter filter = SourceSectionFilter.newBuilder().tagIs(StandardTags.RootTag.class).build();
+            binding = instrumenter.attachFactory(filter, new ExecutionEventNodeFactory() {
+                public ExecutionEventNode create(EventContext context) {
+                    return new StackPushNode(newStacks, createFrame(context));
+                }
+            });
+            stacks = newStacks;
+            timer = new Timer("Truffle Sampling Profiler", true);
+            timer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    sample(newStacks);
+                }
+            }, period, period);
+        }
+    }
+
+    private static StackFrame createFrame(EventContext context) {
+        final RootNode root = context.getInstrumentedNode().getRootNode();
+        return new StackFrame(context.getInstrumentedSourceSection(), root == null ? "<unknown>" : root.getName());
+    }
+
+    private void sample(ShadowStacks sampled) {
+        List<StackFrame[]> captured = new ArrayList<>();
+        for (ShadowStack stack : sampled.all) {
+            StackFrame[] frames = stack.capture();
+            if (frames != null) {
+                captured.add(frames);
+            } else if (!stack.thread.isAlive()) {
+                sampled.all.remove(stack);
+            }
+        }
+        synchronized (this) {
+            if (stacks != sampled) {
+                // collection was reconfigured or disposed in the mean time
+                return;
+            }
+            for (StackFrame[] frames : captured) {
+                CallTreeNode node = rootNode;
+                for (StackFrame frame : frames) {
+                    node = node.findOrAddChild(frame);
+                    node.totalSamples++;
+                }
+                node.selfSamples++;
+                samples++;
+            }
+        }
+    }
+
+    /**
+     * A node of the call tree built from the collected samples. Each node represents a guest root
+     * called along a particular path of callers.
+     *
+     * @since 0.16
+     */
+    public static final class CallTreeNode {
+
+        private final SourceSection sourceSection;
+        private final String name;
+        private final Map<SourceSection, CallTreeNode> children = new LinkedHashMap<>();
+        private long selfSamples;
+        private long totalSamples;
+
+        private CallTreeNode(SourceSection sourceSection, String name) {
+            this.sourceSection = sourceSection;
+            this.name = name;
+        }
+
+        private CallTreeNode findOrAddChild(StackFrame frame) {
+            CallTreeNode child = children.get(frame.sourceSection);
+            if (child == null) {
+                child = new CallTreeNode(frame.sourceSection, frame.name);
+                children.put(frame.sourceSection, child);
+            }
+            return child;
+        }
+
+        /**
+         * The root being executed.
+         *
+         * @since 0.16
+         */
+        public SourceSection getSourceSection() {
+            return sourceSection;
+        }
+
+        /**
+         * The name of the method/procedure being executed.
+         *
+         * @since 0.16
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Number of samples taken while this root was on top of the stack.
+         *
+         * @since 0.16
+         */
+        public long getSelfSamples() {
+            return selfSamples;
+        }
+
+        /**
+         * Number of samples taken while this root was anywhere on the stack.
+         *
+         * @since 0.16
+         */
+        public long getTotalSamples() {
+            return totalSamples;
+        }
+
+        /**
+         * Roots that were called from this root when samples were taken.
+         *
+         * @since 0.16
+         */
+        public Collection<CallTreeNode> getChildren() {
+            return Collections.unmodifiableList(new ArrayList<>(children.values()));
+        }
+
+        String getDescription() {
+            String description = name == null ? "<unknown>" : name.replace(';', ',');
+            if (sourceSection == null || sourceSection.getSource() == null) {
+                return description;
+            }
+            return description + " " + sourceSection.getSource().getName() + ":" + sourceSection.getStartLine();
+        }
+
+        /** @since 0.16 */
+        @Override
+        public String toString() {
+            return getDescription() + " [self " + selfSamples + ", total " + totalSamples + "]";
+        }
+    }
+
+    private static final class StackFrame {
+
+        final SourceSection sourceSection;
+        final String name;
+
+        StackFrame(SourceSection sourceSection, String name) {
+            this.sourceSection = sourceSection;
+            this.name = name;
+        }
+    }
+
+    /* The shadow stacks of all threads that executed guest code while collecting. */
+    private static final class ShadowStacks extends ThreadLocal<ShadowStack> {
+
+        final Collection<ShadowStack> all = new ConcurrentLinkedQueue<>();
+
+        @Override
+        protected ShadowStack initialValue() {
+            ShadowStack stack = new ShadowStack(Thread.currentThread());
+            all.add(stack);
+            return stack;
+        }
+    }
+
+    /*
+     * Stack of the guest roots executed by one thread. It is only modified by its thread; the
+     * sampling thread reads it without synchronization and tolerates seeing a stale state.
+     */
+    private static final class ShadowStack {
+
+        final Thread thread;
+        private StackFrame[] frames = new StackFrame[16];
+        private int depth;
+
+        ShadowStack(Thread thread) {
+            this.thread = thread;
+        }
+
+        void push(StackFrame frame) {
+            if (depth == frames.length) {
+                frames = Arrays.copyOf(frames, depth * 2);
+            }
+            frames[depth++] = frame;
+        }
+
+        void pop() {
+            // the binding may have been attached while the root was already running
+            if (depth > 0) {
+                frames[--depth] = null;
+            }
+        }
+
+        StackFrame[] capture() {
+            int localDepth = depth;
+            StackFrame[] localFrames = frames;
+            int length = Math.min(localDepth, localFrames.length);
+            List<StackFrame> captured = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                StackFrame frame = localFrames[i];
+                if (frame != null) {
+                    captured.add(frame);
+                }
+            }
+            return captured.isEmpty() ? null : captured.toArray(new StackFrame[captured.size()]);
+        }
+    }
+
+    private static final class StackPushNode extends ExecutionEventNode {
+
+        private final ShadowStacks stacks;
+        private final StackFrame frame;
+        /* Stack of the thread that executed this node last; avoids most thread local lookups. */
+        private ShadowStack cachedStack;
+
+        StackPushNode(ShadowStacks stacks, StackFrame frame) {
+            this.stacks = stacks;
+            this.frame = frame;
+        }
+
+        @Override
+        protected void onEnter(VirtualFrame vFrame) {
+            push();
+        }
+
+        @Override
+        protected void onReturnValue(VirtualFrame vFrame, Object result) {
+            pop();
+        }
+
+        @Override
+        protected void onReturnExceptional(VirtualFrame vFrame, Throwable exception) {
+            pop();
+        }
+
+        @TruffleBoundary
+        private void push() {
+            currentStack().push(frame);
+        }
+
+        @TruffleBoundary
+        private void pop() {
+            currentStack().pop();
+        }
+
+        private ShadowStack currentStack() {
+            ShadowStack stack = cachedStack;
+            if (stack == null || stack.thread != Thread.currentThread()) {
+                stack = stacks.get();
+                cachedStack = stack;
+            }
+            return stack;
+        }
+
+        @Override
+        public NodeCost getCost() {
+            return NodeCost.NONE;
+        }
+    }
+}